@@ -0,0 +1,88 @@
+package com.pblgllgs.testingsb3.benchmark;
+
+import com.pblgllgs.testingsb3.TestingSb3Application;
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.repository.EmployeeJdbcRepository;
+import com.pblgllgs.testingsb3.repository.EmployeeRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Application context backed by a throwaway MySQL container, seeded with {@link #EMPLOYEES} rows.
+ * Seeded employee i is named first{i} last{i}, so name lookups always find exactly one row.
+ */
+final class BenchmarkEnvironment implements AutoCloseable {
+
+    static final int EMPLOYEES = 10_000;
+
+    private final MySQLContainer<?> mysql;
+    private final ConfigurableApplicationContext context;
+    private final List<Long> employeeIds;
+    private final AtomicLong sequence = new AtomicLong();
+
+    BenchmarkEnvironment(String... properties) {
+        mysql = new MySQLContainer<>("mysql:8.0.32")
+                .withUsername("username")
+                .withPassword("password")
+                .withDatabaseName("db_test");
+        mysql.start();
+        List<String> allProperties = new ArrayList<>(List.of(
+                "spring.datasource.url=" + mysql.getJdbcUrl() + "?rewriteBatchedStatements=true",
+                "spring.datasource.username=" + mysql.getUsername(),
+                "spring.datasource.password=" + mysql.getPassword(),
+                "spring.jpa.properties.hibernate.show_sql=false",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "logging.level.root=WARN"));
+        allProperties.addAll(List.of(properties));
+        context = new SpringApplicationBuilder(TestingSb3Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(allProperties.toArray(String[]::new))
+                .run();
+        employeeIds = getBean(EmployeeJdbcRepository.class).insertAll(IntStream.range(0, EMPLOYEES)
+                        .mapToObj(i -> Employee.builder()
+                                .firstName("first" + i)
+                                .lastName("last" + i)
+                                .email("employee" + i + "@gmail.com")
+                                .build())
+                        .toList())
+                .stream()
+                .map(Employee::getId)
+                .toList();
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    long randomEmployeeId() {
+        return employeeIds.get(ThreadLocalRandom.current().nextInt(employeeIds.size()));
+    }
+
+    int randomEmployeeIndex() {
+        return ThreadLocalRandom.current().nextInt(EMPLOYEES);
+    }
+
+    Employee newEmployee() {
+        long n = sequence.incrementAndGet();
+        return Employee.builder()
+                .firstName("benchmark" + n)
+                .lastName("benchmark" + n)
+                .email("benchmark" + n + "@gmail.com")
+                .build();
+    }
+
+    @Override
+    public void close() {
+        getBean(EmployeeRepository.class).deleteAllInBatch();
+        context.close();
+        mysql.stop();
+    }
+}
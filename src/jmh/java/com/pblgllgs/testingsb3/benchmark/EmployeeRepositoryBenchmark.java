@@ -0,0 +1,66 @@
+package com.pblgllgs.testingsb3.benchmark;
+
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the name lookup styles of {@link EmployeeRepository} under concurrent load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class EmployeeRepositoryBenchmark {
+
+    private BenchmarkEnvironment environment;
+    private EmployeeRepository employeeRepository;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        environment = new BenchmarkEnvironment();
+        employeeRepository = environment.getBean(EmployeeRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public List<Employee> findEmployeesByFirstNameAndLastName() {
+        int n = environment.randomEmployeeIndex();
+        return employeeRepository.findEmployeesByFirstNameAndLastName("first" + n, "last" + n);
+    }
+
+    @Benchmark
+    public Optional<Employee> findEmployeeByFirstNameAndLastNameIndexParams() {
+        int n = environment.randomEmployeeIndex();
+        return employeeRepository.findEmployeeByFirstNameAndLastNameIndexParams("first" + n, "last" + n);
+    }
+
+    @Benchmark
+    public Optional<Employee> findEmployeeByFirstNameAndLastNameNamedParams() {
+        int n = environment.randomEmployeeIndex();
+        return employeeRepository.findEmployeeByFirstNameAndLastNameNamedParams("first" + n, "last" + n);
+    }
+
+    @Benchmark
+    public Optional<Employee> findEmployeeByFirstNameAndLastNameIndexParamsNative() {
+        int n = environment.randomEmployeeIndex();
+        return employeeRepository.findEmployeeByFirstNameAndLastNameIndexParamsNative("first" + n, "last" + n);
+    }
+
+    @Benchmark
+    public Optional<Employee> findEmployeeByFirstNameAndLastNameNamedParamsNative() {
+        int n = environment.randomEmployeeIndex();
+        return employeeRepository.findEmployeeByFirstNameAndLastNameNamedParamsNative("first" + n, "last" + n);
+    }
+}
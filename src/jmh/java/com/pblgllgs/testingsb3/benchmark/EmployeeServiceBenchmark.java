@@ -0,0 +1,53 @@
+package com.pblgllgs.testingsb3.benchmark;
+
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class EmployeeServiceBenchmark {
+
+    @Param({"caffeine", "none"})
+    public String cacheType;
+
+    private BenchmarkEnvironment environment;
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        environment = new BenchmarkEnvironment("spring.cache.type=" + cacheType);
+        employeeService = environment.getBean(EmployeeService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public Employee saveEmployee() {
+        return employeeService.saveEmployee(environment.newEmployee());
+    }
+
+    @Benchmark
+    public Optional<Employee> findById() {
+        return employeeService.findById(environment.randomEmployeeId());
+    }
+
+    @Benchmark
+    @Threads(1)
+    @OutputTimeUnit(TimeUnit.MINUTES)
+    public List<Employee> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+}
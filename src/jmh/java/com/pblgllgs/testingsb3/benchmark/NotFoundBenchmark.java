@@ -0,0 +1,86 @@
+package com.pblgllgs.testingsb3.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pblgllgs.testingsb3.controller.EmployeeController;
+import com.pblgllgs.testingsb3.exception.EmployeeNotExistsException;
+import com.pblgllgs.testingsb3.exception.ErrorDTO;
+import com.pblgllgs.testingsb3.exception.GlobalHandlerExceptions;
+import com.pblgllgs.testingsb3.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Cost of one GET /api/employees/{id} 404 through Spring MVC, without a database: the service
+ * answers every lookup with a miss. {@code empty} is the current contract, {@code stackless} throws
+ * a stackless {@link EmployeeNotExistsException} and {@code stacktrace} throws an exception with a
+ * full stack trace mapped the way {@link GlobalHandlerExceptions} used to. Select it with
+ * {@code -Djmh.args=NotFoundBenchmark}, or run {@code org.openjdk.jmh.Main NotFoundBenchmark -prof gc}
+ * on the test classpath to see the bytes allocated per 404 as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class NotFoundBenchmark {
+
+    static class StackTraceNotFoundException extends RuntimeException {
+        StackTraceNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    @RestControllerAdvice
+    static class StackTraceNotFoundAdvice {
+        @ExceptionHandler(StackTraceNotFoundException.class)
+        public ResponseEntity<ErrorDTO> handle(StackTraceNotFoundException ex) {
+            GlobalHandlerExceptions.countError(ex, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(new ErrorDTO(ex.getMessage(), HttpStatus.NOT_FOUND, LocalDateTime.now()),
+                    HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Param({"empty", "stackless", "stacktrace"})
+    public String miss;
+
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        EmployeeService employeeService = (EmployeeService) Proxy.newProxyInstance(
+                EmployeeService.class.getClassLoader(),
+                new Class<?>[]{EmployeeService.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findById")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return switch (miss) {
+                        case "stackless" -> throw new EmployeeNotExistsException("Employee not exists with id: " + args[0]);
+                        case "stacktrace" -> throw new StackTraceNotFoundException("Employee not exists with id: " + args[0]);
+                        default -> Optional.empty();
+                    };
+                });
+        mockMvc = MockMvcBuilders.standaloneSetup(new EmployeeController(employeeService, new ObjectMapper()))
+                .setControllerAdvice(new GlobalHandlerExceptions(), new StackTraceNotFoundAdvice())
+                .build();
+    }
+
+    @Benchmark
+    public int findMissingEmployee() throws Exception {
+        return mockMvc.perform(get("/api/employees/{employeeId}", 42L)).andReturn().getResponse().getStatus();
+    }
+}
@@ -0,0 +1,15 @@
+package com.pblgllgs.testingsb3.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Size, TTL and statistics of the caches come from {@code spring.cache.caffeine.spec},
+ * hit/miss counters are published by actuator as {@code cache.gets}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String EMPLOYEES_CACHE = "employees";
+}
@@ -0,0 +1,20 @@
+package com.pblgllgs.testingsb3.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Endpoints are timed by Spring as {@code http.server.requests}, Spring Data repositories as
+ * {@code spring.data.repository.invocations} and Hikari/Hibernate publish their own meters.
+ * This adds the {@code @Timed} support used by the service and JDBC repository.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,34 @@
+package com.pblgllgs.testingsb3.config;
+
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.model.EmployeeChange;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Reflection the AOT engine cannot infer for the native image: types written by Jackson outside of
+ * controller return values (NDJSON streams, exports, server-sent events) and the virtual thread
+ * executor looked up by {@link VirtualThreadsConfig}. Caffeine and typesafe config come with the
+ * GraalVM reachability metadata enabled in the {@code native} Maven profile.
+ */
+@Configuration
+@RegisterReflectionForBinding({Employee.class, EmployeeChange.class})
+@ImportRuntimeHints(NativeHintsConfig.Hints.class)
+public class NativeHintsConfig {
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection().registerType(Executors.class, type -> type.withMethod(
+                    "newVirtualThreadPerTaskExecutor", List.of(), ExecutableMode.INVOKE));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.pblgllgs.testingsb3.config;
+
+import com.pblgllgs.testingsb3.limit.AdaptiveConcurrencyLimiter;
+import com.pblgllgs.testingsb3.limit.ConcurrencyLimitInterceptor;
+import com.pblgllgs.testingsb3.limit.RateLimitInterceptor;
+import com.pblgllgs.testingsb3.limit.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Per-client token buckets on every employee endpoint, plus an adaptive concurrency limit on the
+ * short requests. The change feed and the NDJSON stream stay open for minutes, and job uploads and
+ * downloads move files of up to hundreds of megabytes, so they only count against the rate limit.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employee.rate-limit", name = "enabled", matchIfMissing = true)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    public RateLimitConfig(@Value("${employee.rate-limit.read.capacity:200}") int readCapacity,
+                           @Value("${employee.rate-limit.read.tokens-per-second:100}") double readTokensPerSecond,
+                           @Value("${employee.rate-limit.write.capacity:50}") int writeCapacity,
+                           @Value("${employee.rate-limit.write.tokens-per-second:20}") double writeTokensPerSecond,
+                           @Value("${employee.rate-limit.max-clients:10000}") int maxClients,
+                           @Value("${employee.rate-limit.trust-client-id-header:false}") boolean trustClientIdHeader,
+                           @Value("${employee.concurrency-limit.initial:100}") int initialLimit,
+                           @Value("${employee.concurrency-limit.min:10}") int minLimit,
+                           @Value("${employee.concurrency-limit.max:1000}") int maxLimit,
+                           @Value("${employee.concurrency-limit.latency-threshold:PT0.25S}") Duration latencyThreshold,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        this.rateLimitInterceptor = new RateLimitInterceptor(
+                new TokenBucketRateLimiter(readCapacity, readTokensPerSecond, maxClients),
+                new TokenBucketRateLimiter(writeCapacity, writeTokensPerSecond, maxClients),
+                trustClientIdHeader);
+        AdaptiveConcurrencyLimiter concurrencyLimiter =
+                new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, latencyThreshold.toNanos(), 0.9);
+        this.concurrencyLimitInterceptor = new ConcurrencyLimitInterceptor(concurrencyLimiter);
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("employee.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit).register(registry);
+            Gauge.builder("employee.concurrency.in-flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight).register(registry);
+        });
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor)
+                .addPathPatterns("/api/employees", "/api/employees/**");
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns("/api/employees", "/api/employees/**")
+                .excludePathPatterns("/api/employees/changes", "/api/employees/stream", "/api/employees/jobs/**");
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleClients() {
+        rateLimitInterceptor.evictIdleClients();
+    }
+}
@@ -0,0 +1,87 @@
+package com.pblgllgs.testingsb3.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Hands out replica connections inside {@code @Transactional(readOnly = true)} methods and primary
+ * connections everywhere else. Replicas are picked round-robin, a replica that fails to give a
+ * connection is skipped for {@code downtimeMillis} and the primary serves the read when none is left.
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction is only flagged read-only after the transaction manager asked for its connection.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final long downtimeMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLongArray downUntil;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, long downtimeMillis) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.downtimeMillis = downtimeMillis;
+        this.downUntil = new AtomicLongArray(replicas.size());
+    }
+
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    /**
+     * Routed like {@link #getConnection()}, the target data source is asked with the given credentials.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicas.isEmpty()) {
+            return opener.open(primary);
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (start + i) % replicas.size();
+            if (downUntil.get(index) > System.currentTimeMillis()) {
+                continue;
+            }
+            try {
+                return opener.open(replicas.get(index));
+            } catch (SQLException ex) {
+                log.warn("Read replica {} unavailable, skipping it for {} ms", index, downtimeMillis, ex);
+                downUntil.set(index, System.currentTimeMillis() + downtimeMillis);
+            }
+        }
+        return opener.open(primary);
+    }
+
+    /**
+     * Closes the replica pools, the primary is a bean of its own.
+     */
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
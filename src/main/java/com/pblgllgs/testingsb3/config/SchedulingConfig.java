@@ -0,0 +1,12 @@
+package com.pblgllgs.testingsb3.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background tasks such as the outbox relay run on Spring's single scheduler thread.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,63 @@
+package com.pblgllgs.testingsb3.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.repository.EmployeeRepository;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache regions on Caffeine through JCache. Hit and miss counts are
+ * published from the Hibernate statistics as {@code hibernate.second.level.cache.requests} and
+ * {@code hibernate.query.cache.requests}. Spring's own {@code employees} cache stays on plain
+ * Caffeine, see {@code spring.cache.type}.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${employee.second-level-cache.entities.maximum-size:10000}") long entitiesMaximumSize,
+            @Value("${employee.second-level-cache.entities.expire-after-write:10m}") Duration entitiesExpireAfterWrite,
+            @Value("${employee.second-level-cache.queries.maximum-size:1000}") long queriesMaximumSize,
+            @Value("${employee.second-level-cache.queries.expire-after-write:5m}") Duration queriesExpireAfterWrite) {
+        // own provider instance, Caching.getCachingProvider() would share one manager between application contexts
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        cacheManager.createCache(Employee.CACHE_REGION, region(entitiesMaximumSize, entitiesExpireAfterWrite));
+        cacheManager.createCache(EmployeeRepository.QUERY_CACHE_REGION, region(queriesMaximumSize, queriesExpireAfterWrite));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(queriesMaximumSize, queriesExpireAfterWrite));
+        // must outlive every cached query result, otherwise stale results could be returned
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region(null, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(Long maximumSize, Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate caches disassembled state, copying it on every access would only cost time
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (maximumSize != null) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        if (expireAfterWrite != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        }
+        return configuration;
+    }
+}
@@ -0,0 +1,22 @@
+package com.pblgllgs.testingsb3.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Stops the application as soon as it is ready when {@code employee.startup.exit-on-ready} is set.
+ * The {@code cds} Maven profile starts it that way with {@code -XX:ArchiveClassesAtExit}, so the JVM
+ * archives every class loaded during startup.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "employee.startup", name = "exit-on-ready")
+public class TrainingRunConfig {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void exitOnReady(ApplicationReadyEvent event) {
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
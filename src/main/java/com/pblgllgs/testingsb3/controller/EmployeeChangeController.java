@@ -0,0 +1,37 @@
+package com.pblgllgs.testingsb3.controller;
+
+import com.pblgllgs.testingsb3.service.EmployeeChangeRelay;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events feed of employee changes. Every event id is its outbox sequence, so clients
+ * resume with the standard {@code Last-Event-ID} header or with {@code ?after=}.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/employees/changes")
+public class EmployeeChangeController {
+
+    private final EmployeeChangeRelay employeeChangeRelay;
+    private final long emitterTimeoutMillis;
+
+    public EmployeeChangeController(EmployeeChangeRelay employeeChangeRelay,
+                                    @Value("${employee.changes.emitter-timeout:1800000}") long emitterTimeoutMillis) {
+        this.employeeChangeRelay = employeeChangeRelay;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(value = "after", required = false) Long after
+    ) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        employeeChangeRelay.subscribe(emitter, lastEventId != null ? lastEventId : after);
+        return emitter;
+    }
+}
@@ -1,21 +1,45 @@
 package com.pblgllgs.testingsb3.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pblgllgs.testingsb3.exception.InvalidEmployeeQueryException;
 import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.model.EmployeeFilter;
+import com.pblgllgs.testingsb3.model.EmployeeLookup;
 import com.pblgllgs.testingsb3.service.EmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int DEFAULT_SEARCH_SIZE = 20;
+    /**
+     * Shared by every response without per-request content, the headers of a ResponseEntity are read-only.
+     */
+    private static final ResponseEntity<Employee> NOT_FOUND = ResponseEntity.notFound().build();
+    private static final ResponseEntity<String> DELETE_NOT_FOUND = ResponseEntity.notFound().build();
+    private static final ResponseEntity<String> DELETED = ResponseEntity.ok("Deleted");
+
     private final EmployeeService employeeService;
+    private final ObjectMapper mapper;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ObjectMapper mapper) {
         this.employeeService = employeeService;
+        this.mapper = mapper;
     }
 
     @PostMapping
@@ -24,41 +48,138 @@ public class EmployeeController {
         return employeeService.saveEmployee(employee);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<Employee> createEmployees(@RequestBody List<Employee> employees) {
+        return employeeService.saveAll(employees);
+    }
+
+    /**
+     * Always a page of at most {@code limit} employees, the first {@value #DEFAULT_PAGE_SIZE} by id
+     * without parameters. Filtering, sorting ({@code sort=lastName,desc}) and {@code fields=id,email}
+     * are applied by the database. Clients that need every employee read {@code /stream}. The
+     * {@code after} cursor is an id, it is rejected with any sort other than {@code sort=id}.
+     */
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public List<Employee> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    public List<?> getAllEmployees(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "emailDomain", required = false) String emailDomain,
+            @RequestParam(value = "namePrefix", required = false) String namePrefix,
+            @RequestParam(value = "fields", required = false) List<String> fields,
+            Sort sort
+    ) {
+        EmployeeFilter filter = new EmployeeFilter(emailDomain, namePrefix, after);
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        if (fields != null) {
+            return employeeService.findEmployeeFields(filter, sort, pageSize, fields);
+        }
+        if (emailDomain == null && namePrefix == null && sort.isUnsorted()) {
+            return employeeService.getEmployeesAfter(after == null ? 0L : after, pageSize);
+        }
+        return employeeService.findEmployees(filter, sort, pageSize);
+    }
+
+    /**
+     * Up to {@value #MAX_PAGE_SIZE} employees by id in one call, in request order, with the ids that
+     * do not exist. {@code POST /by-ids} takes the same ids as a JSON array for lists too long for a URL.
+     */
+    @GetMapping(params = "ids")
+    @ResponseStatus(HttpStatus.OK)
+    public EmployeeLookup findEmployeesByIds(@RequestParam("ids") List<Long> employeeIds) {
+        return findAllById(employeeIds);
+    }
+
+    @PostMapping("/by-ids")
+    @ResponseStatus(HttpStatus.OK)
+    public EmployeeLookup findEmployeesByIdsInBody(@RequestBody List<Long> employeeIds) {
+        return findAllById(employeeIds);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        StreamingResponseBody body = outputStream -> employeeService.streamAllEmployees(employee -> {
+            try {
+                outputStream.write(mapper.writeValueAsBytes(employee));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/by-name")
+    @ResponseStatus(HttpStatus.OK)
+    public List<Employee> findEmployeesByName(
+            @RequestParam("firstName") String firstName,
+            @RequestParam("lastName") String lastName
+    ) {
+        return employeeService.findByName(firstName, lastName);
     }
 
+    /**
+     * Ranked prefix and typo tolerant search over names and emails, served from memory.
+     */
+    @GetMapping("/search")
+    @ResponseStatus(HttpStatus.OK)
+    public List<Employee> searchEmployees(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        int size = limit == null ? DEFAULT_SEARCH_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return employeeService.searchEmployees(query, size);
+    }
+
+    /**
+     * Spring answers If-None-Match with an empty 304 when the ETag of the response still matches.
+     */
     @GetMapping("/{employeeId}")
     public ResponseEntity<Employee> findEmployeeById(@PathVariable("employeeId") long employeeId) {
         return employeeService.findById(employeeId)
-                .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+                .map(employee -> ResponseEntity.ok()
+                        .eTag(EmployeeETags.of(employee))
+                        .body(employee))
+                .orElse(NOT_FOUND);
     }
 
     @PutMapping("/{employeeId}")
     public ResponseEntity<Employee> updateEmployee(
             @PathVariable("employeeId") long employeeId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody Employee employee
     ) {
-        return employeeService.findById(employeeId)
-                .map(savedEmployee -> {
-                    savedEmployee.setFirstName(employee.getFirstName());
-                    savedEmployee.setLastName(employee.getLastName());
-                    savedEmployee.setEmail(employee.getEmail());
-                    Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
-                    return new ResponseEntity<>(updatedEmployee, HttpStatus.OK);
-                })
-                .orElseGet(() -> ResponseEntity.notFound().build());
+        return employeeService.updateEmployee(employeeId, employee, EmployeeETags.expectedVersion(ifMatch))
+                .map(updatedEmployee -> ResponseEntity.ok()
+                        .eTag(EmployeeETags.of(updatedEmployee))
+                        .body(updatedEmployee))
+                .orElse(NOT_FOUND);
     }
 
     @DeleteMapping("/{employeeId}")
     public ResponseEntity<String> deleteEmployee(
-            @PathVariable("employeeId") long employeeId
+            @PathVariable("employeeId") long employeeId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        employeeService.findById(employeeId);
-        return new ResponseEntity<>("Deleted", HttpStatus.OK);
+        if (!employeeService.deleteEmployee(employeeId, EmployeeETags.expectedVersion(ifMatch))) {
+            return DELETE_NOT_FOUND;
+        }
+        return DELETED;
     }
 
+    @DeleteMapping(params = "ids")
+    public ResponseEntity<String> deleteEmployees(@RequestParam("ids") List<Long> employeeIds) {
+        int deleted = employeeService.deleteEmployees(employeeIds);
+        return new ResponseEntity<>("Deleted: " + deleted, HttpStatus.OK);
+    }
+
+    private EmployeeLookup findAllById(List<Long> employeeIds) {
+        if (employeeIds.size() > MAX_PAGE_SIZE) {
+            throw new InvalidEmployeeQueryException("At most " + MAX_PAGE_SIZE + " ids can be fetched at once, got " + employeeIds.size());
+        }
+        return employeeService.findAllById(employeeIds);
+    }
 }
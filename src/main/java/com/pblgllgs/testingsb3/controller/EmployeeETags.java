@@ -0,0 +1,36 @@
+package com.pblgllgs.testingsb3.controller;
+
+import com.pblgllgs.testingsb3.model.Employee;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Employee ETags are the quoted entity version, the id is already part of the resource URI.
+ */
+final class EmployeeETags {
+
+    private EmployeeETags() {
+    }
+
+    static String of(Employee employee) {
+        return employee.getVersion() == null ? null : "\"" + employee.getVersion() + "\"";
+    }
+
+    /**
+     * Returns the version an If-Match header asks for, or null when the header is absent or {@code *}.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        // If-Match uses strong comparison, weak or listed ETags fail to parse and never match
+        String eTag = ifMatch.trim();
+        if (eTag.length() > 1 && eTag.startsWith("\"") && eTag.endsWith("\"")) {
+            eTag = eTag.substring(1, eTag.length() - 1);
+        }
+        try {
+            return Long.valueOf(eTag);
+        } catch (NumberFormatException ex) {
+            throw new OptimisticLockingFailureException("If-Match does not match any employee version: " + ifMatch);
+        }
+    }
+}
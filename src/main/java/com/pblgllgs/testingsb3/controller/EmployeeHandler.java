@@ -0,0 +1,230 @@
+package com.pblgllgs.testingsb3.controller;
+
+import com.pblgllgs.testingsb3.exception.EmployeeAlreadyExistsException;
+import com.pblgllgs.testingsb3.exception.EmployeeNotExistsException;
+import com.pblgllgs.testingsb3.exception.ErrorDTO;
+import com.pblgllgs.testingsb3.exception.GlobalHandlerExceptions;
+import com.pblgllgs.testingsb3.exception.InvalidEmployeeQueryException;
+import com.pblgllgs.testingsb3.exception.SearchIndexLoadingException;
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.service.ReactiveEmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reactive counterpart of {@link EmployeeController}, routed by {@link EmployeeRouter}.
+ */
+@Component
+@Profile("reactive")
+public class EmployeeHandler {
+
+    private static final ParameterizedTypeReference<List<Employee>> EMPLOYEE_LIST = new ParameterizedTypeReference<>() {
+    };
+    private static final ParameterizedTypeReference<List<Long>> ID_LIST = new ParameterizedTypeReference<>() {
+    };
+    /**
+     * Filters, sorting and field selection of {@link EmployeeController#getAllEmployees} are not served here.
+     */
+    private static final List<String> UNSUPPORTED_PARAMETERS = List.of("emailDomain", "namePrefix", "fields", "sort");
+
+    private final ReactiveEmployeeService employeeService;
+
+    public EmployeeHandler(ReactiveEmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    public Mono<ServerResponse> createEmployee(ServerRequest request) {
+        return request.bodyToMono(Employee.class)
+                .flatMap(employeeService::saveEmployee)
+                .flatMap(employee -> ServerResponse.status(HttpStatus.CREATED).bodyValue(employee))
+                .onErrorResume(EmployeeHandler::errorResponse);
+    }
+
+    public Mono<ServerResponse> createEmployees(ServerRequest request) {
+        return request.bodyToMono(EMPLOYEE_LIST)
+                .flatMap(employees -> employeeService.saveAll(employees).collectList())
+                .flatMap(employees -> ServerResponse.status(HttpStatus.CREATED).bodyValue(employees))
+                .onErrorResume(EmployeeHandler::errorResponse);
+    }
+
+    /**
+     * Always a page, every employee is only available from {@link #streamAllEmployees(ServerRequest)}.
+     * Filters, sorting and field selection are rejected rather than ignored.
+     */
+    public Mono<ServerResponse> getAllEmployees(ServerRequest request) {
+        return Mono.defer(() -> {
+                    for (String parameter : UNSUPPORTED_PARAMETERS) {
+                        if (request.queryParam(parameter).isPresent()) {
+                            throw new InvalidEmployeeQueryException("Parameter '" + parameter + "' is not supported by the reactive API");
+                        }
+                    }
+                    long after = request.queryParam("after").map(value -> parseLong("after", value)).orElse(0L);
+                    int pageSize = request.queryParam("limit")
+                            .map(value -> (int) Math.max(1, Math.min(parseLong("limit", value), EmployeeController.MAX_PAGE_SIZE)))
+                            .orElse(EmployeeController.DEFAULT_PAGE_SIZE);
+                    return ServerResponse.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(employeeService.getEmployeesAfter(after, pageSize), Employee.class);
+                })
+                .onErrorResume(EmployeeHandler::errorResponse);
+    }
+
+    /**
+     * Rows are pulled from the database as the client consumes the response.
+     */
+    public Mono<ServerResponse> streamAllEmployees(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(employeeService.getAllEmployees(), Employee.class);
+    }
+
+    public Mono<ServerResponse> findEmployeesByIds(ServerRequest request) {
+        return Mono.defer(() -> findAllById(ids(request)))
+                .onErrorResume(EmployeeHandler::errorResponse);
+    }
+
+    public Mono<ServerResponse> findEmployeesByIdsInBody(ServerRequest request) {
+        return request.bodyToMono(ID_LIST)
+                .flatMap(this::findAllById)
+                .onErrorResume(EmployeeHandler::errorResponse);
+    }
+
+    public Mono<ServerResponse> searchEmployees(ServerRequest request) {
+        return Mono.defer(() -> {
+                    String query = request.queryParam("q")
+                            .orElseThrow(() -> new ServerWebInputException("Required parameter 'q' is not present."));
+                    int size = request.queryParam("limit")
+                            .map(value -> (int) Math.max(1, Math.min(parseLong("limit", value), EmployeeController.MAX_PAGE_SIZE)))
+                            .orElse(EmployeeController.DEFAULT_SEARCH_SIZE);
+                    // collected first, a search failing while the index loads must still map to an error status
+                    return employeeService.searchEmployees(query, size)
+                            .collectList()
+                            .flatMap(employees -> ServerResponse.ok()
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .bodyValue(employees));
+                })
+                .onErrorResume(EmployeeHandler::errorResponse);
+    }
+
+    public Mono<ServerResponse> findEmployeesByName(ServerRequest request) {
+        String firstName = request.queryParam("firstName")
+                .orElseThrow(() -> new ServerWebInputException("Required parameter 'firstName' is not present."));
+        String lastName = request.queryParam("lastName")
+                .orElseThrow(() -> new ServerWebInputException("Required parameter 'lastName' is not present."));
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(employeeService.findByName(firstName, lastName), Employee.class);
+    }
+
+    public Mono<ServerResponse> findEmployeeById(ServerRequest request) {
+        return Mono.defer(() -> employeeService.findById(employeeId(request)))
+                .flatMap(employee -> {
+                    String eTag = EmployeeETags.of(employee);
+                    if (eTag != null && request.headers().header(HttpHeaders.IF_NONE_MATCH).contains(eTag)) {
+                        return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+                    }
+                    return ok(employee);
+                })
+                .switchIfEmpty(ServerResponse.notFound().build())
+                .onErrorResume(EmployeeHandler::errorResponse);
+    }
+
+    public Mono<ServerResponse> updateEmployee(ServerRequest request) {
+        return Mono.defer(() -> {
+                    Long expectedVersion = EmployeeETags.expectedVersion(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+                    return request.bodyToMono(Employee.class)
+                            .flatMap(changes -> employeeService.updateEmployee(employeeId(request), changes, expectedVersion));
+                })
+                .flatMap(EmployeeHandler::ok)
+                .switchIfEmpty(ServerResponse.notFound().build())
+                .onErrorResume(EmployeeHandler::errorResponse);
+    }
+
+    public Mono<ServerResponse> deleteEmployee(ServerRequest request) {
+        return Mono.defer(() -> {
+                    Long expectedVersion = EmployeeETags.expectedVersion(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+                    return employeeService.deleteEmployee(employeeId(request), expectedVersion);
+                })
+                .flatMap(deleted -> deleted
+                        ? ServerResponse.ok().bodyValue("Deleted")
+                        : ServerResponse.notFound().build())
+                .onErrorResume(EmployeeHandler::errorResponse);
+    }
+
+    public Mono<ServerResponse> deleteEmployees(ServerRequest request) {
+        return Mono.defer(() -> employeeService.deleteEmployees(ids(request)))
+                .flatMap(deleted -> ServerResponse.ok().bodyValue("Deleted: " + deleted))
+                .onErrorResume(EmployeeHandler::errorResponse);
+    }
+
+    private Mono<ServerResponse> findAllById(List<Long> employeeIds) {
+        if (employeeIds.size() > EmployeeController.MAX_PAGE_SIZE) {
+            return Mono.error(new InvalidEmployeeQueryException("At most " + EmployeeController.MAX_PAGE_SIZE
+                    + " ids can be fetched at once, got " + employeeIds.size()));
+        }
+        return employeeService.findAllById(employeeIds)
+                .flatMap(lookup -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(lookup));
+    }
+
+    private static List<Long> ids(ServerRequest request) {
+        return request.queryParams().getOrDefault("ids", List.of()).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .filter(value -> !value.isBlank())
+                .map(value -> parseLong("ids", value))
+                .toList();
+    }
+
+    private static long parseLong(String parameter, String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new InvalidEmployeeQueryException("Invalid value for parameter '" + parameter + "': " + value);
+        }
+    }
+
+    private static long employeeId(ServerRequest request) {
+        return parseLong("employeeId", request.pathVariable("employeeId"));
+    }
+
+    private static Mono<ServerResponse> ok(Employee employee) {
+        ServerResponse.BodyBuilder builder = ServerResponse.ok();
+        String eTag = EmployeeETags.of(employee);
+        if (eTag != null) {
+            builder.eTag(eTag);
+        }
+        return builder.bodyValue(employee);
+    }
+
+    /**
+     * Same mapping as {@link GlobalHandlerExceptions}, which only applies to MVC.
+     */
+    private static Mono<ServerResponse> errorResponse(Throwable ex) {
+        HttpStatus status;
+        if (ex instanceof EmployeeAlreadyExistsException || ex instanceof InvalidEmployeeQueryException) {
+            status = HttpStatus.BAD_REQUEST;
+        } else if (ex instanceof EmployeeNotExistsException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (ex instanceof OptimisticLockingFailureException) {
+            status = HttpStatus.PRECONDITION_FAILED;
+        } else if (ex instanceof SearchIndexLoadingException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        } else {
+            return Mono.error(ex);
+        }
+        GlobalHandlerExceptions.countError(ex, status);
+        return ServerResponse.status(status).bodyValue(new ErrorDTO(ex.getMessage(), status, LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,87 @@
+package com.pblgllgs.testingsb3.controller;
+
+import com.pblgllgs.testingsb3.model.EmployeeJob;
+import com.pblgllgs.testingsb3.service.EmployeeJobService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Bulk import and export of employees as CSV or NDJSON. Both answer 202 with the job,
+ * its progress is polled at the Location returned.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/employees/jobs")
+public class EmployeeJobController {
+
+    private final EmployeeJobService employeeJobService;
+
+    public EmployeeJobController(EmployeeJobService employeeJobService) {
+        this.employeeJobService = employeeJobService;
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<EmployeeJob> importEmployees(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "format", required = false) EmployeeJob.Format format
+    ) throws IOException {
+        try (InputStream content = file.getInputStream()) {
+            return accepted(employeeJobService.startImport(format == null ? formatOf(file) : format, content));
+        }
+    }
+
+    @PostMapping("/export")
+    public ResponseEntity<EmployeeJob> exportEmployees(
+            @RequestParam(value = "format", defaultValue = "NDJSON") EmployeeJob.Format format
+    ) {
+        return accepted(employeeJobService.startExport(format));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<EmployeeJob> findJob(@PathVariable("jobId") String jobId) {
+        return employeeJobService.findJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{jobId}/file")
+    public ResponseEntity<Resource> downloadExport(@PathVariable("jobId") String jobId) {
+        return employeeJobService.findJob(jobId)
+                .filter(job -> job.getStatus() == EmployeeJob.Status.COMPLETED && job.getFile() != null)
+                .map(job -> ResponseEntity.ok()
+                        .contentType(job.getFormat() == EmployeeJob.Format.CSV
+                                ? new MediaType("text", "csv")
+                                : MediaType.APPLICATION_NDJSON)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                .filename("employees-" + job.getId() + (job.getFormat() == EmployeeJob.Format.CSV ? ".csv" : ".ndjson"))
+                                .build()
+                                .toString())
+                        .<Resource>body(new FileSystemResource(job.getFile())))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity<EmployeeJob> accepted(EmployeeJob job) {
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/api/employees/jobs/{jobId}")
+                        .buildAndExpand(job.getId())
+                        .toUri())
+                .body(job);
+    }
+
+    private static EmployeeJob.Format formatOf(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        return name != null && name.toLowerCase().endsWith(".csv") ? EmployeeJob.Format.CSV : EmployeeJob.Format.NDJSON;
+    }
+}
@@ -0,0 +1,38 @@
+package com.pblgllgs.testingsb3.controller;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.queryParam;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Same /api/employees routes as {@link EmployeeController}, served by WebFlux when the reactive profile is active.
+ * Listing only pages by id: filters, sorting and field selection are answered with 400.
+ */
+@Configuration
+@Profile("reactive")
+public class EmployeeRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> employeeRoutes(EmployeeHandler handler) {
+        return route()
+                .path("/api/employees", builder -> builder
+                        .POST("/batch", handler::createEmployees)
+                        .POST("/by-ids", handler::findEmployeesByIdsInBody)
+                        .GET("/stream", handler::streamAllEmployees)
+                        .GET("/by-name", handler::findEmployeesByName)
+                        .GET("/search", handler::searchEmployees)
+                        .GET("/{employeeId}", handler::findEmployeeById)
+                        .PUT("/{employeeId}", handler::updateEmployee)
+                        .DELETE("/{employeeId}", handler::deleteEmployee)
+                        .POST(handler::createEmployee)
+                        .GET(queryParam("ids", ids -> true), handler::findEmployeesByIds)
+                        .GET(handler::getAllEmployees)
+                        .DELETE(queryParam("ids", ids -> true), handler::deleteEmployees))
+                .build();
+    }
+}
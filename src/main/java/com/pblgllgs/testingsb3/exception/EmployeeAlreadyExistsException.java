@@ -2,10 +2,10 @@ package com.pblgllgs.testingsb3.exception;
 
 public class EmployeeAlreadyExistsException extends RuntimeException{
     public EmployeeAlreadyExistsException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public EmployeeAlreadyExistsException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
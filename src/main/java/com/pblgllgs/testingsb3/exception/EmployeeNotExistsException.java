@@ -1,11 +1,16 @@
 package com.pblgllgs.testingsb3.exception;
 
+/**
+ * Answered with 404. Like the other exceptions of this package it carries no stack trace: they only
+ * signal client errors to the error handlers, and filling in the trace is most of the
+ * cost of throwing one.
+ */
 public class EmployeeNotExistsException extends RuntimeException{
     public EmployeeNotExistsException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public EmployeeNotExistsException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
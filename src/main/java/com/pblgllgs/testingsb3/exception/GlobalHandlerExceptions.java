@@ -1,17 +1,54 @@
 package com.pblgllgs.testingsb3.exception;
 
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class GlobalHandlerExceptions {
 
+    public static final String ERRORS_METRIC = "employee.api.errors";
+
+    /**
+     * Bodies of the load shedding responses, allocated once: they are sent the most when the service
+     * can least afford it. They carry no time, the Date header already does.
+     */
+    private static final ErrorDTO TOO_MANY_REQUESTS_BODY =
+            new ErrorDTO("Too many requests, retry later", HttpStatus.TOO_MANY_REQUESTS, null);
+    private static final ErrorDTO SERVICE_OVERLOADED_BODY =
+            new ErrorDTO("Too many requests in progress, retry later", HttpStatus.SERVICE_UNAVAILABLE, null);
+
+    /**
+     * Counts handled errors by exception type and status, through the global registry Spring Boot registers into.
+     */
+    public static void countError(Throwable ex, HttpStatus status) {
+        Metrics.counter(ERRORS_METRIC,
+                        "exception", ex.getClass().getSimpleName(),
+                        "status", String.valueOf(status.value()))
+                .increment();
+    }
+
     @ExceptionHandler(EmployeeAlreadyExistsException.class)
     public ResponseEntity<ErrorDTO> handlerEmployeeAlreadyExistsException(EmployeeAlreadyExistsException ex) {
+        countError(ex, HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(new ErrorDTO(
+                ex.getMessage(),
+                HttpStatus.BAD_REQUEST,
+                LocalDateTime.now()),
+                HttpStatus.BAD_REQUEST
+        );
+    }
+
+    @ExceptionHandler(InvalidEmployeeQueryException.class)
+    public ResponseEntity<ErrorDTO> handlerInvalidEmployeeQueryException(InvalidEmployeeQueryException ex) {
+        countError(ex, HttpStatus.BAD_REQUEST);
         return new ResponseEntity<>(new ErrorDTO(
                 ex.getMessage(),
                 HttpStatus.BAD_REQUEST,
@@ -20,13 +57,52 @@ public class GlobalHandlerExceptions {
         );
     }
 
-    @ExceptionHandler(EmployeeNotExistsException.class)
-    public ResponseEntity<ErrorDTO> handlerEmployeeAlreadyExistsException(EmployeeNotExistsException ex) {
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorDTO> handlerOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        countError(ex, HttpStatus.PRECONDITION_FAILED);
+        return new ResponseEntity<>(new ErrorDTO(
+                ex.getMessage(),
+                HttpStatus.PRECONDITION_FAILED,
+                LocalDateTime.now()),
+                HttpStatus.PRECONDITION_FAILED
+        );
+    }
+
+    @ExceptionHandler(SearchIndexLoadingException.class)
+    public ResponseEntity<ErrorDTO> handlerSearchIndexLoadingException(SearchIndexLoadingException ex) {
+        countError(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        return new ResponseEntity<>(new ErrorDTO(
+                ex.getMessage(),
+                HttpStatus.SERVICE_UNAVAILABLE,
+                LocalDateTime.now()),
+                HttpStatus.SERVICE_UNAVAILABLE
+        );
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorDTO> handlerRejectedExecutionException(RejectedExecutionException ex) {
+        countError(ex, HttpStatus.SERVICE_UNAVAILABLE);
         return new ResponseEntity<>(new ErrorDTO(
                 ex.getMessage(),
-                HttpStatus.NOT_FOUND,
+                HttpStatus.SERVICE_UNAVAILABLE,
                 LocalDateTime.now()),
-                HttpStatus.NOT_FOUND
+                HttpStatus.SERVICE_UNAVAILABLE
         );
     }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorDTO> handlerTooManyRequestsException(TooManyRequestsException ex) {
+        countError(ex, HttpStatus.TOO_MANY_REQUESTS);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(TOO_MANY_REQUESTS_BODY);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorDTO> handlerServiceOverloadedException(ServiceOverloadedException ex) {
+        countError(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(SERVICE_OVERLOADED_BODY);
+    }
 }
@@ -0,0 +1,7 @@
+package com.pblgllgs.testingsb3.exception;
+
+public class InvalidEmployeeQueryException extends RuntimeException{
+    public InvalidEmployeeQueryException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,10 @@
+package com.pblgllgs.testingsb3.exception;
+
+/**
+ * The search index is still loading and would only return part of the matches, answered with 503.
+ */
+public class SearchIndexLoadingException extends RuntimeException{
+    public SearchIndexLoadingException(String message) {
+        super(message, null, false, false);
+    }
+}
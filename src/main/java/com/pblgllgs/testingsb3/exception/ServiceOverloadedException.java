@@ -0,0 +1,16 @@
+package com.pblgllgs.testingsb3.exception;
+
+import lombok.Getter;
+
+/**
+ * Shed because too many requests are already in flight, answered with 503 and {@code Retry-After}.
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException{
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,16 @@
+package com.pblgllgs.testingsb3.exception;
+
+import lombok.Getter;
+
+/**
+ * The client used up its request budget, answered with 429 and {@code Retry-After}.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException{
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,72 @@
+package com.pblgllgs.testingsb3.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps the requests in flight with an AIMD limit: a request slower than the latency threshold
+ * shrinks the limit by {@code backoffRatio}, at most once per threshold period, and fast requests
+ * grow it by one while it is in use. Once the database slows down the limit drops and the excess
+ * is rejected right away instead of queueing for pool connections.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastDecrease = new AtomicLong();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos, double backoffRatio) {
+        this(initialLimit, minLimit, maxLimit, latencyThresholdNanos, backoffRatio, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos,
+                               double backoffRatio, LongSupplier nanoClock) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.nanoClock = nanoClock;
+        this.limit = new AtomicInteger(initialLimit);
+        this.lastDecrease.set(nanoClock.getAsLong() - latencyThresholdNanos);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (latencyNanos > latencyThresholdNanos) {
+            long now = nanoClock.getAsLong();
+            long last = lastDecrease.get();
+            if (now - last >= latencyThresholdNanos && lastDecrease.compareAndSet(last, now)) {
+                limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+            }
+        } else {
+            // only grow a limit that is actually reached, idle periods must not inflate it
+            limit.updateAndGet(current -> inFlightBefore >= current / 2 ? Math.min(maxLimit, current + 1) : current);
+        }
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,42 @@
+package com.pblgllgs.testingsb3.limit;
+
+import com.pblgllgs.testingsb3.exception.ServiceOverloadedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Holds a permit of the {@link AdaptiveConcurrencyLimiter} from the first dispatch until the
+ * request completes, async dispatches of the same request reuse it.
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(START_ATTRIBUTE) != null) {
+            return true;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            throw new ServiceOverloadedException("Concurrency limit reached", 1);
+        }
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start != null && !request.isAsyncStarted()) {
+            request.removeAttribute(START_ATTRIBUTE);
+            concurrencyLimiter.release(System.nanoTime() - (long) start);
+        }
+    }
+}
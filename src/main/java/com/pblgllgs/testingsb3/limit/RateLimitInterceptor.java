@@ -0,0 +1,56 @@
+package com.pblgllgs.testingsb3.limit;
+
+import com.pblgllgs.testingsb3.exception.TooManyRequestsException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Charges each request to its remote address, with separate budgets for reads and writes. Behind a
+ * trusted proxy that sets the {@value #CLIENT_ID_HEADER} header, requests are charged to that client
+ * instead; otherwise the header is ignored, clients could rotate it to get a fresh budget.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+    private static final String BY_IDS_PATH = "/by-ids";
+
+    private final TokenBucketRateLimiter readLimiter;
+    private final TokenBucketRateLimiter writeLimiter;
+    private final boolean trustClientIdHeader;
+
+    public RateLimitInterceptor(TokenBucketRateLimiter readLimiter, TokenBucketRateLimiter writeLimiter, boolean trustClientIdHeader) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.trustClientIdHeader = trustClientIdHeader;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        String clientId = trustClientIdHeader ? request.getHeader(CLIENT_ID_HEADER) : null;
+        if (clientId == null || clientId.isBlank()) {
+            clientId = request.getRemoteAddr();
+        }
+        // POST /by-ids only carries a long id list, it reads like GET ?ids=
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())
+                || request.getRequestURI().endsWith(BY_IDS_PATH);
+        long waitNanos = (read ? readLimiter : writeLimiter).tryAcquire(clientId);
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException(read ? "Read budget exhausted" : "Write budget exhausted",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+        return true;
+    }
+
+    public void evictIdleClients() {
+        readLimiter.evictIdle();
+        writeLimiter.evictIdle();
+    }
+}
@@ -0,0 +1,76 @@
+package com.pblgllgs.testingsb3.limit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * One token bucket per client key. Buckets are updated with compare-and-set, never locked, and the
+ * map is a {@link ConcurrentHashMap} so clients only contend with themselves. At most {@code maxClients}
+ * buckets are kept, clients arriving while the map is full share one overflow bucket until idle
+ * buckets are evicted.
+ */
+public class TokenBucketRateLimiter {
+
+    static final String OVERFLOW_KEY = "";
+
+    private record Bucket(double tokens, long refilledAt) {
+    }
+
+    private final double capacity;
+    private final int maxClients;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+    private final Map<String, AtomicReference<Bucket>> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketRateLimiter(int capacity, double tokensPerSecond, int maxClients) {
+        this(capacity, tokensPerSecond, maxClients, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, double tokensPerSecond, int maxClients, LongSupplier nanoClock) {
+        this.capacity = capacity;
+        this.maxClients = maxClients;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes a token from the bucket of {@code key}. Returns 0 on success, otherwise the nanoseconds
+     * to wait until a token is available.
+     */
+    public long tryAcquire(String key) {
+        AtomicReference<Bucket> bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(buckets.size() < maxClients ? key : OVERFLOW_KEY,
+                    k -> new AtomicReference<>(new Bucket(capacity, nanoClock.getAsLong())));
+        }
+        while (true) {
+            Bucket current = bucket.get();
+            long now = nanoClock.getAsLong();
+            double tokens = refill(current, now);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            if (bucket.compareAndSet(current, new Bucket(tokens - 1, now))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets that refilled completely, they behave like new ones.
+     */
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(bucket -> refill(bucket.get(), now) >= capacity);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private double refill(Bucket bucket, long now) {
+        return Math.min(capacity, bucket.tokens() + (now - bucket.refilledAt()) * tokensPerNano);
+    }
+}
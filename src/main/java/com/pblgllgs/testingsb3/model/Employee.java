@@ -1,18 +1,44 @@
 package com.pblgllgs.testingsb3.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.util.List;
 
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name = "employees")
+@Table(
+        name = "employees",
+        indexes = {
+                @Index(name = Employee.EMAIL_UNIQUE_INDEX, columnList = "email", unique = true),
+                @Index(name = Employee.NAME_INDEX, columnList = "first_name, last_name"),
+                @Index(name = Employee.LAST_NAME_INDEX, columnList = "last_name")
+        }
+)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Employee.CACHE_REGION)
 @ToString
 public class Employee {
 
+    public static final String EMAIL_UNIQUE_INDEX = "uk_employees_email";
+    public static final String NAME_INDEX = "idx_employees_first_name_last_name";
+    public static final String LAST_NAME_INDEX = "idx_employees_last_name";
+    /**
+     * Second-level cache region of the entity, see {@code SecondLevelCacheConfig}.
+     */
+    public static final String CACHE_REGION = "employee-entities";
+    /**
+     * Attributes that can be sorted on or selected with {@code fields=}.
+     */
+    public static final List<String> FIELDS = List.of("id", "firstName", "lastName", "email", "version");
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
@@ -21,6 +47,10 @@ public class Employee {
     private String firstName;
     @Column(name = "last_name", nullable = false)
     private String lastName;
-    @Column(name = "email",nullable = false)
+    @Column(name = "email", nullable = false)
     private String email;
+    @Version
+    @Column(name = "version", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
 }
@@ -0,0 +1,13 @@
+package com.pblgllgs.testingsb3.model;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the employee outbox. {@code employee} is the JSON state after the change, null for deletes.
+ */
+public record EmployeeChange(long sequence, Type type, Long employeeId, @JsonRawValue String employee, LocalDateTime createdAt) {
+
+    public enum Type {CREATED, UPDATED, DELETED}
+}
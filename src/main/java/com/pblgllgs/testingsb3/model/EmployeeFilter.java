@@ -0,0 +1,15 @@
+package com.pblgllgs.testingsb3.model;
+
+/**
+ * Optional criteria of the employee listing, null values are ignored.
+ *
+ * @param emailDomain matches emails ending with {@code @emailDomain}
+ * @param namePrefix  matches employees whose first or last name starts with it
+ * @param afterId     keyset cursor, only employees with a greater id
+ */
+public record EmployeeFilter(String emailDomain, String namePrefix, Long afterId) {
+
+    public boolean isEmpty() {
+        return emailDomain == null && namePrefix == null && afterId == null;
+    }
+}
@@ -0,0 +1,86 @@
+package com.pblgllgs.testingsb3.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * State and progress of a bulk import or export. Counters are only written by the job's worker
+ * thread and read by pollers, so volatile fields are enough.
+ */
+@Getter
+public class EmployeeJob {
+
+    public enum Type {IMPORT, EXPORT}
+
+    public enum Format {CSV, NDJSON}
+
+    public enum Status {PENDING, RUNNING, COMPLETED, FAILED}
+
+    static final int MAX_ERRORS = 100;
+
+    private final String id = UUID.randomUUID().toString();
+    private final Type type;
+    private final Format format;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private volatile Status status = Status.PENDING;
+    private volatile Long total;
+    private volatile long processed;
+    private volatile long skipped;
+    private volatile String message;
+    private volatile LocalDateTime finishedAt;
+    @JsonIgnore
+    private volatile Path file;
+    private final List<String> errors = new ArrayList<>();
+
+    public EmployeeJob(Type type, Format format) {
+        this.type = type;
+        this.format = format;
+    }
+
+    public void start(Long total) {
+        this.total = total;
+        this.status = Status.RUNNING;
+    }
+
+    public void addProcessed(long count) {
+        processed += count;
+    }
+
+    public void addSkipped(long count, String error) {
+        skipped += count;
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+
+    public void complete(Path file) {
+        this.file = file;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+    }
+
+    public void fail(String message) {
+        this.message = message;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+
+    public List<String> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
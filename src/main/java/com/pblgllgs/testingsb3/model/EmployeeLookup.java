@@ -0,0 +1,12 @@
+package com.pblgllgs.testingsb3.model;
+
+import java.util.List;
+
+/**
+ * Result of fetching employees by id.
+ *
+ * @param employees  the employees found, in the order their ids were requested, each once
+ * @param missingIds the requested ids without an employee, in request order
+ */
+public record EmployeeLookup(List<Employee> employees, List<Long> missingIds) {
+}
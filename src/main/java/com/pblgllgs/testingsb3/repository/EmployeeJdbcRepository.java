@@ -0,0 +1,176 @@
+package com.pblgllgs.testingsb3.repository;
+
+import com.pblgllgs.testingsb3.model.Employee;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC writes for bulk operations. Employee ids are IDENTITY generated, which stops Hibernate
+ * from batching inserts, so bulk inserts bypass the persistence context. Hibernate does not see these
+ * writes either, so they evict the second-level cache entries they make stale, once right away and
+ * once more when the transaction completes in case a concurrent reader cached the old row meanwhile.
+ */
+@Repository
+public class EmployeeJdbcRepository {
+
+    private static final String INSERT_EMPLOYEE =
+            "INSERT INTO employees (first_name, last_name, email) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int batchSize;
+
+    public EmployeeJdbcRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                                  @Value("${employee.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Inserts the employees in JDBC batches of {@code employee.batch-size} rows and sets the generated ids.
+     */
+    @Timed("employee.repository.jdbc")
+    public List<Employee> insertAll(List<Employee> employees) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_EMPLOYEE, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < employees.size(); from += batchSize) {
+                    List<Employee> batch = employees.subList(from, Math.min(from + batchSize, employees.size()));
+                    for (Employee employee : batch) {
+                        statement.setString(1, employee.getFirstName());
+                        statement.setString(2, employee.getLastName());
+                        statement.setString(3, employee.getEmail());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        for (int i = 0; i < batch.size() && keys.next(); i++) {
+                            batch.get(i).setId(keys.getLong(1));
+                            batch.get(i).setVersion(0L);
+                        }
+                    }
+                }
+            }
+            evictCachedEmployees(List.of());
+            return employees;
+        });
+    }
+
+    /**
+     * Reads every employee row by row without a persistence context, see {@link EmployeeRepository#STREAMING_FETCH_SIZE}.
+     */
+    public void forEachEmployee(Consumer<Employee> action) {
+        jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            "SELECT id, first_name, last_name, email, version FROM employees",
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(Integer.MIN_VALUE);
+                    return statement;
+                },
+                (ResultSet resultSet) -> action.accept(Employee.builder()
+                        .id(resultSet.getLong("id"))
+                        .firstName(resultSet.getString("first_name"))
+                        .lastName(resultSet.getString("last_name"))
+                        .email(resultSet.getString("email"))
+                        .version(resultSet.getLong("version"))
+                        .build()));
+    }
+
+    /**
+     * Updates only the non null fields of {@code changes} with a single statement and bumps the version.
+     * When {@code expectedVersion} is given the row only matches if its version is still the same.
+     * Returns the number of matched rows, Connector/J reports found rows rather than changed rows by default.
+     */
+    @Timed("employee.repository.jdbc")
+    public int updateFields(Long id, Employee changes, Long expectedVersion) {
+        List<String> assignments = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        if (changes.getFirstName() != null) {
+            assignments.add("first_name = ?");
+            values.add(changes.getFirstName());
+        }
+        if (changes.getLastName() != null) {
+            assignments.add("last_name = ?");
+            values.add(changes.getLastName());
+        }
+        if (changes.getEmail() != null) {
+            assignments.add("email = ?");
+            values.add(changes.getEmail());
+        }
+        if (assignments.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update for employee with id: " + id);
+        }
+        assignments.add("version = version + 1");
+        String sql = "UPDATE employees SET " + String.join(", ", assignments) + " WHERE id = ?";
+        values.add(id);
+        if (expectedVersion != null) {
+            sql += " AND version = ?";
+            values.add(expectedVersion);
+        }
+        int updatedRows = jdbcTemplate.update(sql, values.toArray());
+        evictCachedEmployees(List.of(id));
+        return updatedRows;
+    }
+
+    /**
+     * Which of the emails are already taken. A locking read returns the latest committed rows, so it also
+     * sees rows committed after the snapshot of the current transaction, which a plain SELECT would not.
+     */
+    public List<String> findTakenEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(emails.size(), "?"));
+        return jdbcTemplate.queryForList("SELECT email FROM employees WHERE email IN (" + placeholders + ") FOR SHARE",
+                String.class, emails.toArray());
+    }
+
+    /**
+     * Current version of the employee, null when the row does not exist. Read after
+     * {@link #updateFields(Long, Employee, Long)} in the same transaction it is the version that update wrote,
+     * the row stays locked until the transaction ends.
+     */
+    public Long findVersion(Long id) {
+        return jdbcTemplate.query("SELECT version FROM employees WHERE id = ?",
+                (ResultSet resultSet) -> resultSet.next() ? resultSet.getLong("version") : null, id);
+    }
+
+    /**
+     * New rows can change the results of cached queries, changed rows also make their cached entity stale.
+     */
+    private void evictCachedEmployees(Collection<Long> ids) {
+        Runnable eviction = () -> {
+            ids.forEach(id -> entityManagerFactory.getCache().evict(Employee.class, id));
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(EmployeeRepository.QUERY_CACHE_REGION);
+        };
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
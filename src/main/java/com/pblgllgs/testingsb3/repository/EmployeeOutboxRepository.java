@@ -0,0 +1,110 @@
+package com.pblgllgs.testingsb3.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.model.EmployeeChange;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Change events of employees, written in the transaction of the change and read in sequence order by
+ * {@link com.pblgllgs.testingsb3.service.EmployeeChangeRelay}.
+ */
+@Repository
+public class EmployeeOutboxRepository {
+
+    private static final String INSERT_CHANGE =
+            "INSERT INTO employee_outbox (type, employee_id, payload) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper mapper;
+
+    public EmployeeOutboxRepository(JdbcTemplate jdbcTemplate, ObjectMapper mapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mapper = mapper;
+    }
+
+    public void append(EmployeeChange.Type type, Employee employee) {
+        jdbcTemplate.update(INSERT_CHANGE, type.name(), employee.getId(), toJson(employee));
+    }
+
+    public void appendAll(EmployeeChange.Type type, List<Employee> employees) {
+        jdbcTemplate.batchUpdate(INSERT_CHANGE, employees, employees.size(), (statement, employee) -> {
+            statement.setString(1, type.name());
+            statement.setLong(2, employee.getId());
+            statement.setString(3, toJson(employee));
+        });
+    }
+
+    public void appendDeleted(Collection<Long> employeeIds) {
+        jdbcTemplate.batchUpdate(INSERT_CHANGE, employeeIds, employeeIds.size(), (statement, employeeId) -> {
+            statement.setString(1, EmployeeChange.Type.DELETED.name());
+            statement.setLong(2, employeeId);
+            statement.setNull(3, Types.VARCHAR);
+        });
+    }
+
+    public List<EmployeeChange> findAfter(long sequence, int limit) {
+        return jdbcTemplate.query(
+                "SELECT sequence, type, employee_id, payload, created_at FROM employee_outbox WHERE sequence > ? ORDER BY sequence LIMIT ?",
+                (resultSet, rowNum) -> new EmployeeChange(
+                        resultSet.getLong("sequence"),
+                        EmployeeChange.Type.valueOf(resultSet.getString("type")),
+                        resultSet.getLong("employee_id"),
+                        resultSet.getString("payload"),
+                        resultSet.getTimestamp("created_at").toLocalDateTime()),
+                sequence, limit);
+    }
+
+    /**
+     * Sequences present within any of the inclusive {@code {from, to}} ranges, in order.
+     */
+    public List<Long> findSequencesWithin(List<long[]> ranges) {
+        if (ranges.isEmpty()) {
+            return List.of();
+        }
+        List<Object> bounds = new ArrayList<>(ranges.size() * 2);
+        for (long[] range : ranges) {
+            bounds.add(range[0]);
+            bounds.add(range[1]);
+        }
+        String conditions = String.join(" OR ", Collections.nCopies(ranges.size(), "sequence BETWEEN ? AND ?"));
+        return jdbcTemplate.queryForList("SELECT sequence FROM employee_outbox WHERE " + conditions + " ORDER BY sequence",
+                Long.class, bounds.toArray());
+    }
+
+    public long findLastSequence() {
+        Long sequence = jdbcTemplate.queryForObject("SELECT MAX(sequence) FROM employee_outbox", Long.class);
+        return sequence == null ? 0L : sequence;
+    }
+
+    /**
+     * Oldest sequence still in the outbox, 0 when it is empty.
+     */
+    public long findFirstSequence() {
+        Long sequence = jdbcTemplate.queryForObject("SELECT MIN(sequence) FROM employee_outbox", Long.class);
+        return sequence == null ? 0L : sequence;
+    }
+
+    public int deleteOlderThan(LocalDateTime time, int limit) {
+        return jdbcTemplate.update("DELETE FROM employee_outbox WHERE created_at < ? ORDER BY sequence LIMIT ?",
+                Timestamp.valueOf(time), limit);
+    }
+
+    private String toJson(Employee employee) {
+        try {
+            return mapper.writeValueAsString(employee);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize employee with id: " + employee.getId(), ex);
+        }
+    }
+}
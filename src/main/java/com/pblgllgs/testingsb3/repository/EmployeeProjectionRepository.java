@@ -0,0 +1,16 @@
+package com.pblgllgs.testingsb3.repository;
+
+import com.pblgllgs.testingsb3.model.Employee;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+public interface EmployeeProjectionRepository {
+
+    /**
+     * Selects only the given attributes of the matching employees, one map per row keyed by attribute name.
+     */
+    List<Map<String, Object>> findEmployeeFields(Specification<Employee> specification, Sort sort, int limit, List<String> fields);
+}
@@ -0,0 +1,50 @@
+package com.pblgllgs.testingsb3.repository;
+
+import com.pblgllgs.testingsb3.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class EmployeeProjectionRepositoryImpl implements EmployeeProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    EmployeeProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Map<String, Object>> findEmployeeFields(Specification<Employee> specification, Sort sort, int limit, List<String> fields) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        query.multiselect(fields.stream()
+                .<Selection<?>>map(field -> root.get(field).alias(field))
+                .toList());
+        query.where(specification.toPredicate(root, query, builder));
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -1,30 +1,136 @@
 package com.pblgllgs.testingsb3.repository;
 
 import com.pblgllgs.testingsb3.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>,
+        JpaSpecificationExecutor<Employee>,
+        EmployeeProjectionRepository {
 
+    /**
+     * MySQL Connector/J only streams rows one by one when the fetch size is Integer.MIN_VALUE,
+     * any other value buffers the whole result set in the driver.
+     */
+    String STREAMING_FETCH_SIZE = "" + Integer.MIN_VALUE;
+
+    /**
+     * Query cache region of the finders below. Hibernate drops their results when it writes the
+     * employees table itself, {@link EmployeeJdbcRepository} evicts the region after its own writes.
+     */
+    String QUERY_CACHE_REGION = "employee-queries";
+
+    /**
+     * Bulk reads still use cached entities but do not add the rows they load to the second-level
+     * cache, otherwise one full scan would push every hot employee out of the bounded region.
+     */
+    String CACHE_STORE_MODE_BYPASS = "BYPASS";
+
+    @Override
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = CACHE_STORE_MODE_BYPASS))
+    List<Employee> findAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Optional<Employee> findEmployeeByEmail(String email);
 
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT e.id FROM Employee e WHERE e.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Canonical name lookup, served by the (first_name, last_name) index. Names are not unique,
+     * so every match is returned. The four variants below are kept for comparison in benchmarks.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    @Query("SELECT e FROM Employee e WHERE e.firstName=:firstName and e.lastName=:lastName ORDER BY e.id")
+    List<Employee> findEmployeesByFirstNameAndLastName(
+            @Param("firstName") String firstName,
+            @Param("lastName") String lastName);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     @Query("SELECT e FROM Employee e WHERE e.firstName=?1 and e.lastName=?2")
     Optional<Employee> findEmployeeByFirstNameAndLastNameIndexParams(String firstName, String lastName);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     @Query("SELECT e FROM Employee e WHERE e.firstName=:firstName and e.lastName=:lastName")
     Optional<Employee> findEmployeeByFirstNameAndLastNameNamedParams(
             @Param("firstName") String firstName,
             @Param("lastName")String lastName);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     @Query(value = "SELECT * FROM employees e WHERE e.first_name=?1 and e.last_name=?2", nativeQuery = true)
     Optional<Employee> findEmployeeByFirstNameAndLastNameIndexParamsNative(String firstName, String lastName);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     @Query(value = "SELECT * FROM employees e WHERE e.first_name=:firstName and e.last_name=:lastName", nativeQuery = true)
     Optional<Employee> findEmployeeByFirstNameAndLastNameNamedParamsNative(
             @Param("firstName") String firstName,
             @Param("lastName")String lastName);
 
+    /**
+     * Keyset page: seeks on the primary key instead of using OFFSET, so every page costs the same.
+     */
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = CACHE_STORE_MODE_BYPASS))
+    @Query("SELECT e FROM Employee e WHERE e.id > :afterId ORDER BY e.id")
+    List<Employee> findEmployeesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = CACHE_STORE_MODE_BYPASS)
+    })
+    @Query("SELECT e FROM Employee e ORDER BY e.id")
+    Stream<Employee> streamAllEmployees();
+
+    /**
+     * Single DELETE statement, unlike {@link #deleteById(Object)} which loads the entity first.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Employee e WHERE e.id = :id")
+    int deleteEmployeeById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Employee e WHERE e.id = :id AND e.version = :version")
+    int deleteEmployeeByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Employee e WHERE e.id IN :ids")
+    int deleteEmployeesByIds(@Param("ids") Collection<Long> ids);
+
 }
@@ -0,0 +1,40 @@
+package com.pblgllgs.testingsb3.repository;
+
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.model.EmployeeFilter;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> matching(EmployeeFilter filter) {
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.emailDomain() != null) {
+                // leading wildcard, no index helps: the other predicates and the page limit bound the scan
+                predicates.add(builder.like(root.get("email"), "%@" + escapeLike(filter.emailDomain()), '\\'));
+            }
+            if (filter.namePrefix() != null) {
+                // prefix LIKEs, MySQL merges ranges of the (first_name, last_name) and (last_name) indexes
+                String pattern = escapeLike(filter.namePrefix()) + "%";
+                predicates.add(builder.or(
+                        builder.like(root.get("firstName"), pattern, '\\'),
+                        builder.like(root.get("lastName"), pattern, '\\')));
+            }
+            if (filter.afterId() != null) {
+                predicates.add(builder.greaterThan(root.get("id"), filter.afterId()));
+            }
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
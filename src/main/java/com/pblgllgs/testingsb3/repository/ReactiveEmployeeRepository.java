@@ -0,0 +1,212 @@
+package com.pblgllgs.testingsb3.repository;
+
+import com.pblgllgs.testingsb3.model.Employee;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Statement;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Non blocking counterpart of {@link EmployeeRepository} and {@link EmployeeJdbcRepository} over R2DBC.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveEmployeeRepository {
+
+    private static final String SELECT_EMPLOYEES = "SELECT id, first_name, last_name, email, version FROM employees";
+    private static final String INSERT_EMPLOYEE = "INSERT INTO employees (first_name, last_name, email) VALUES (?, ?, ?)";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveEmployeeRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Employee> insert(Employee employee) {
+        GenericExecuteSpec spec = databaseClient.sql(INSERT_EMPLOYEE);
+        spec = bindNullable(spec, 0, employee.getFirstName());
+        spec = bindNullable(spec, 1, employee.getLastName());
+        spec = bindNullable(spec, 2, employee.getEmail());
+        return spec.filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    employee.setId(id);
+                    employee.setVersion(0L);
+                    return employee;
+                });
+    }
+
+    /**
+     * Inserts every employee with one batched statement, ids are set in insertion order.
+     */
+    public Flux<Employee> insertAll(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(INSERT_EMPLOYEE).returnGeneratedValues("id");
+            for (int i = 0; i < employees.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                Employee employee = employees.get(i);
+                bindNullable(statement, 0, employee.getFirstName());
+                bindNullable(statement, 1, employee.getLastName());
+                bindNullable(statement, 2, employee.getEmail());
+            }
+            return Flux.from(statement.execute())
+                    .concatMap(result -> result.map((row, metadata) -> row.get("id", Long.class)))
+                    .index()
+                    .map(indexedId -> {
+                        Employee employee = employees.get(indexedId.getT1().intValue());
+                        employee.setId(indexedId.getT2());
+                        employee.setVersion(0L);
+                        return employee;
+                    });
+        });
+    }
+
+    public Flux<Employee> findAll() {
+        return databaseClient.sql(SELECT_EMPLOYEES + " ORDER BY id")
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Flux<Employee> findEmployeesAfter(Long afterId, int limit) {
+        return databaseClient.sql(SELECT_EMPLOYEES + " WHERE id > :afterId ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Mono<Employee> findById(Long id) {
+        return databaseClient.sql(SELECT_EMPLOYEES + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .one();
+    }
+
+    public Flux<Employee> findAllById(Collection<Long> ids) {
+        return databaseClient.sql(SELECT_EMPLOYEES + " WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Flux<Employee> findEmployeesByFirstNameAndLastName(String firstName, String lastName) {
+        return databaseClient.sql(SELECT_EMPLOYEES + " WHERE first_name = :firstName AND last_name = :lastName ORDER BY id")
+                .bind("firstName", firstName)
+                .bind("lastName", lastName)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    /**
+     * Same contract as {@link EmployeeJdbcRepository#findVersion(Long)}, empty when the row does not exist.
+     */
+    public Mono<Long> findVersion(Long id) {
+        return databaseClient.sql("SELECT version FROM employees WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT 1 FROM employees WHERE id = :id")
+                .bind("id", id)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    /**
+     * Same contract as {@link EmployeeJdbcRepository#updateFields(Long, Employee, Long)}.
+     */
+    public Mono<Long> updateFields(Long id, Employee changes, Long expectedVersion) {
+        List<String> assignments = new ArrayList<>();
+        if (changes.getFirstName() != null) {
+            assignments.add("first_name = :firstName");
+        }
+        if (changes.getLastName() != null) {
+            assignments.add("last_name = :lastName");
+        }
+        if (changes.getEmail() != null) {
+            assignments.add("email = :email");
+        }
+        if (assignments.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("No fields to update for employee with id: " + id));
+        }
+        assignments.add("version = version + 1");
+        String sql = "UPDATE employees SET " + String.join(", ", assignments) + " WHERE id = :id";
+        if (expectedVersion != null) {
+            sql += " AND version = :version";
+        }
+        GenericExecuteSpec spec = databaseClient.sql(sql).bind("id", id);
+        if (changes.getFirstName() != null) {
+            spec = spec.bind("firstName", changes.getFirstName());
+        }
+        if (changes.getLastName() != null) {
+            spec = spec.bind("lastName", changes.getLastName());
+        }
+        if (changes.getEmail() != null) {
+            spec = spec.bind("email", changes.getEmail());
+        }
+        if (expectedVersion != null) {
+            spec = spec.bind("version", expectedVersion);
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(Long id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return databaseClient.sql("DELETE FROM employees WHERE id = :id")
+                    .bind("id", id)
+                    .fetch()
+                    .rowsUpdated();
+        }
+        return databaseClient.sql("DELETE FROM employees WHERE id = :id AND version = :version")
+                .bind("id", id)
+                .bind("version", expectedVersion)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteByIds(Collection<Long> ids) {
+        return databaseClient.sql("DELETE FROM employees WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static GenericExecuteSpec bindNullable(GenericExecuteSpec spec, int index, String value) {
+        return value == null ? spec.bindNull(index, String.class) : spec.bind(index, value);
+    }
+
+    private static void bindNullable(Statement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index, String.class);
+        } else {
+            statement.bind(index, value);
+        }
+    }
+
+    private static Employee toEmployee(Readable row) {
+        return Employee.builder()
+                .id(row.get("id", Long.class))
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .email(row.get("email", String.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+}
@@ -0,0 +1,319 @@
+package com.pblgllgs.testingsb3.service;
+
+import com.pblgllgs.testingsb3.model.EmployeeChange;
+import com.pblgllgs.testingsb3.repository.EmployeeOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Polls the employee outbox in batches and pushes new changes to the subscribed SSE clients.
+ * A subscriber behind the relay, because it resumed from an old sequence, is caught up from the
+ * outbox one batch per poll. Sequences are taken at insert but become visible at commit, so a
+ * missing sequence is waited for up to {@code employee.changes.gap-timeout} before it is skipped.
+ * Skipped sequences are checked again every {@code gap-timeout} for one retention period: a transaction
+ * that commits one of them later sends a {@value #RESET_EVENT} event to every subscriber, since the
+ * change was not delivered in order and the subscribers have to reload.
+ * <p>
+ * The polling thread only queues events, every subscriber is written to from the sender pool with a
+ * buffer of {@code employee.changes.subscriber-buffer} events. A subscriber whose buffer fills up is
+ * closed and resumes from its last received event when it reconnects. A subscriber resuming from a
+ * sequence already deleted from the outbox gets a {@value #RESET_EVENT} event instead of a silent gap.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class EmployeeChangeRelay {
+
+    public static final String RESET_EVENT = "RESET";
+    private static final int CLEANUP_BATCH_SIZE = 10_000;
+    private static final int MAX_SKIPPED_GAPS = 1000;
+
+    private record Gap(long from, long to, long skippedAt) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> events;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        // last sequence queued for this subscriber, only written by the polling thread
+        private volatile long cursor;
+
+        private Subscriber(SseEmitter emitter, int bufferSize, long cursor) {
+            this.emitter = emitter;
+            this.events = new ArrayBlockingQueue<>(bufferSize);
+            this.cursor = cursor;
+        }
+    }
+
+    private final EmployeeOutboxRepository employeeOutboxRepository;
+    private final int batchSize;
+    private final long gapTimeoutMillis;
+    private final Duration retention;
+    private final Executor sender;
+    private final int bufferSize;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private volatile long lastRelayed = -1;
+    private long gapSince;
+    // only used by the polling thread
+    private final List<Gap> skippedGaps = new ArrayList<>();
+    private long gapsCheckedAt;
+
+    @Autowired
+    public EmployeeChangeRelay(EmployeeOutboxRepository employeeOutboxRepository,
+                               @Value("${employee.changes.batch-size:500}") int batchSize,
+                               @Value("${employee.changes.gap-timeout:5000}") long gapTimeoutMillis,
+                               @Value("${employee.changes.retention:P7D}") Duration retention,
+                               @Value("${employee.changes.subscriber-buffer:1000}") int bufferSize) {
+        this(employeeOutboxRepository, batchSize, gapTimeoutMillis, retention,
+                Executors.newCachedThreadPool(new CustomizableThreadFactory("employee-changes-")), bufferSize);
+    }
+
+    public EmployeeChangeRelay(EmployeeOutboxRepository employeeOutboxRepository,
+                               int batchSize,
+                               long gapTimeoutMillis,
+                               Duration retention,
+                               Executor sender,
+                               int bufferSize) {
+        this.employeeOutboxRepository = employeeOutboxRepository;
+        this.batchSize = batchSize;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+        this.retention = retention;
+        this.sender = sender;
+        this.bufferSize = bufferSize;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sender instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Streams the changes after {@code afterSequence}, or only the new ones when it is null.
+     */
+    public void subscribe(SseEmitter emitter, Long afterSequence) {
+        long current = currentSequence();
+        // the changes in between were deleted, the client has to reload instead of resuming
+        boolean expired = afterSequence != null && afterSequence < current && isExpired(afterSequence, current);
+        Subscriber subscriber = new Subscriber(emitter, bufferSize, afterSequence == null || expired ? current : afterSequence);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        if (expired) {
+            enqueue(subscriber, SseEmitter.event()
+                    .id(String.valueOf(current))
+                    .name(RESET_EVENT)
+                    .data("Changes after sequence " + afterSequence + " have expired"));
+        }
+        subscribers.add(subscriber);
+        scheduleSend(subscriber);
+    }
+
+    @Scheduled(fixedDelayString = "${employee.changes.poll-interval:200}")
+    public void relay() {
+        long previous = currentSequence();
+        List<EmployeeChange> changes = contiguous(employeeOutboxRepository.findAfter(previous, batchSize), previous);
+        if (!changes.isEmpty()) {
+            lastRelayed = changes.get(changes.size() - 1).sequence();
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.cursor < previous) {
+                // resumed from an older sequence, replay what was already relayed to the others
+                queue(subscriber, employeeOutboxRepository.findAfter(subscriber.cursor, batchSize).stream()
+                        .filter(change -> change.sequence() <= previous)
+                        .toList());
+            } else {
+                queue(subscriber, changes);
+            }
+        }
+        checkSkippedGaps();
+    }
+
+    @Scheduled(fixedDelayString = "${employee.changes.cleanup-interval:3600000}")
+    public void deleteExpiredChanges() {
+        LocalDateTime expiry = LocalDateTime.now().minus(retention);
+        int deleted;
+        do {
+            deleted = employeeOutboxRepository.deleteOlderThan(expiry, CLEANUP_BATCH_SIZE);
+        } while (deleted == CLEANUP_BATCH_SIZE);
+    }
+
+    int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private long currentSequence() {
+        if (lastRelayed < 0) {
+            synchronized (this) {
+                if (lastRelayed < 0) {
+                    lastRelayed = employeeOutboxRepository.findLastSequence();
+                }
+            }
+        }
+        return lastRelayed;
+    }
+
+    private List<EmployeeChange> contiguous(List<EmployeeChange> changes, long previous) {
+        List<EmployeeChange> ready = new ArrayList<>(changes.size());
+        long expected = previous + 1;
+        for (EmployeeChange change : changes) {
+            if (change.sequence() != expected) {
+                long now = System.currentTimeMillis();
+                if (gapSince == 0) {
+                    gapSince = now;
+                }
+                if (now - gapSince < gapTimeoutMillis) {
+                    break;
+                }
+                log.warn("Skipping employee outbox sequences {} to {}, not committed after {} ms",
+                        expected, change.sequence() - 1, gapTimeoutMillis);
+                skip(new Gap(expected, change.sequence() - 1, now));
+            }
+            gapSince = 0;
+            ready.add(change);
+            expected = change.sequence() + 1;
+        }
+        return ready;
+    }
+
+    private void skip(Gap gap) {
+        skippedGaps.add(gap);
+        if (skippedGaps.size() > MAX_SKIPPED_GAPS) {
+            Gap oldest = skippedGaps.remove(0);
+            log.warn("No longer checking skipped employee outbox sequences {} to {}", oldest.from(), oldest.to());
+        }
+    }
+
+    private void checkSkippedGaps() {
+        long now = System.currentTimeMillis();
+        if (skippedGaps.isEmpty() || now - gapsCheckedAt < gapTimeoutMillis) {
+            return;
+        }
+        gapsCheckedAt = now;
+        long expiry = now - retention.toMillis();
+        skippedGaps.removeIf(gap -> gap.skippedAt() < expiry);
+        List<Long> late = employeeOutboxRepository.findSequencesWithin(skippedGaps.stream()
+                .map(gap -> new long[]{gap.from(), gap.to()})
+                .toList());
+        if (late.isEmpty()) {
+            return;
+        }
+        log.warn("Employee outbox sequences {} committed after they were skipped, resetting subscribers", late);
+        List<Gap> remaining = new ArrayList<>(skippedGaps.size());
+        for (Gap gap : skippedGaps) {
+            long from = gap.from();
+            for (long sequence : late) {
+                if (sequence >= from && sequence <= gap.to()) {
+                    if (sequence > from) {
+                        remaining.add(new Gap(from, sequence - 1, gap.skippedAt()));
+                    }
+                    from = sequence + 1;
+                }
+            }
+            if (from <= gap.to()) {
+                remaining.add(new Gap(from, gap.to(), gap.skippedAt()));
+            }
+        }
+        skippedGaps.clear();
+        skippedGaps.addAll(remaining);
+        for (Subscriber subscriber : subscribers) {
+            if (enqueue(subscriber, SseEmitter.event()
+                    .id(String.valueOf(subscriber.cursor))
+                    .name(RESET_EVENT)
+                    .data("Changes " + late + " were committed after later changes had been sent"))) {
+                scheduleSend(subscriber);
+            }
+        }
+    }
+
+    private boolean isExpired(long afterSequence, long current) {
+        long first = employeeOutboxRepository.findFirstSequence();
+        // an empty outbox still holds nothing after the last relayed sequence
+        return afterSequence + 1 < (first == 0 ? current + 1 : first);
+    }
+
+    private void queue(Subscriber subscriber, List<EmployeeChange> changes) {
+        for (EmployeeChange change : changes) {
+            if (change.sequence() > subscriber.cursor) {
+                boolean queued = enqueue(subscriber, SseEmitter.event()
+                        .id(String.valueOf(change.sequence()))
+                        .name(change.type().name())
+                        .data(change));
+                if (!queued) {
+                    return;
+                }
+                subscriber.cursor = change.sequence();
+            }
+        }
+        scheduleSend(subscriber);
+    }
+
+    private boolean enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.events.offer(event)) {
+            return true;
+        }
+        // fell behind, it resumes from the last event it received when it reconnects
+        log.warn("Closing employee change subscriber, {} events behind", bufferSize);
+        subscribers.remove(subscriber);
+        subscriber.emitter.complete();
+        return false;
+    }
+
+    /**
+     * At most one send task per subscriber, so its events stay in order.
+     */
+    private void scheduleSend(Subscriber subscriber) {
+        if (subscriber.events.isEmpty() || !subscriber.sending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> send(subscriber));
+        } catch (RejectedExecutionException ex) {
+            subscriber.sending.set(false);
+            subscribers.remove(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.events.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // client went away, it resumes with Last-Event-ID when it reconnects
+            subscribers.remove(subscriber);
+            subscriber.events.clear();
+            subscriber.emitter.completeWithError(ex);
+        } finally {
+            subscriber.sending.set(false);
+        }
+        // events queued after the last poll but before the flag was cleared
+        if (subscribers.contains(subscriber)) {
+            scheduleSend(subscriber);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.pblgllgs.testingsb3.service;
+
+import com.pblgllgs.testingsb3.model.EmployeeJob;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+public interface EmployeeJobService {
+
+    EmployeeJob startImport(EmployeeJob.Format format, InputStream content) throws IOException;
+    EmployeeJob startExport(EmployeeJob.Format format);
+    Optional<EmployeeJob> findJob(String jobId);
+}
@@ -0,0 +1,323 @@
+package com.pblgllgs.testingsb3.service;
+
+import com.pblgllgs.testingsb3.exception.SearchIndexLoadingException;
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.repository.EmployeeJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory inverted index over the first name, last name and email local part words of every employee.
+ * Email domains are shared by most employees and would match nearly every query, so they are not indexed.
+ * Words are indexed by all their prefixes for type-ahead search and by their trigrams for typos.
+ * Loaded once at startup and kept current by {@link com.pblgllgs.testingsb3.service.impl.EmployeeServiceImpl}
+ * or {@link com.pblgllgs.testingsb3.service.impl.ReactiveEmployeeServiceImpl},
+ * changes made inside a transaction are applied after it commits. Rows read by the startup load never
+ * replace a newer version indexed meanwhile, nor bring back an employee removed meanwhile. Searches
+ * fail with {@link SearchIndexLoadingException} until the startup load has finished, rather than
+ * answering from part of the employees.
+ */
+@Slf4j
+@Component
+public class EmployeeSearchIndex {
+
+    static final int MAX_PREFIX_LENGTH = 20;
+    static final double MIN_SIMILARITY = 0.5;
+    private static final double EXACT_SCORE = 3;
+    private static final double PREFIX_SCORE = 2;
+
+    /**
+     * The trigrams of every word are kept with the document, so typo matching does not compute them per query.
+     */
+    private record Document(Employee employee, Set<String> words, List<Set<String>> wordTrigrams) {
+    }
+
+    private record Match(Document document, double score) {
+    }
+
+    private static final Comparator<Match> RANKING = Comparator.comparingDouble(Match::score).reversed()
+            .thenComparing(match -> match.document().employee().getId());
+
+    private final EmployeeJdbcRepository employeeJdbcRepository;
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> prefixes = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> trigrams = new ConcurrentHashMap<>();
+    private final Set<Long> removedWhileLoading = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+    private volatile boolean loaded;
+
+    public EmployeeSearchIndex(EmployeeJdbcRepository employeeJdbcRepository) {
+        this.employeeJdbcRepository = employeeJdbcRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        loading = true;
+        try {
+            employeeJdbcRepository.forEachEmployee(this::putLoaded);
+            loaded = true;
+        } finally {
+            loading = false;
+            removedWhileLoading.clear();
+        }
+        log.info("Indexed {} employees for search in {} ms", documents.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void index(Employee employee) {
+        Employee copy = Employee.builder()
+                .id(employee.getId())
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .version(employee.getVersion())
+                .build();
+        afterCommit(() -> put(copy));
+    }
+
+    public void indexAll(Collection<Employee> employees) {
+        employees.forEach(this::index);
+    }
+
+    public void remove(Long id) {
+        afterCommit(() -> removeDocument(id));
+    }
+
+    public void removeAll(Collection<Long> ids) {
+        afterCommit(() -> ids.forEach(this::removeDocument));
+    }
+
+    /**
+     * Employees matching every word of the query, best matches first. A query word matches an
+     * employee word it equals, prefixes or, from three characters on, resembles by trigram similarity.
+     */
+    public List<Employee> search(String query, int limit) {
+        if (!loaded) {
+            throw new SearchIndexLoadingException("Search index is loading, retry later");
+        }
+        List<String> queryWords = words(query);
+        if (queryWords.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Match> matches = null;
+        for (String queryWord : queryWords) {
+            Map<Long, Match> wordMatches = match(queryWord);
+            if (matches == null) {
+                matches = wordMatches;
+            } else {
+                Map<Long, Match> previous = matches;
+                matches = new HashMap<>();
+                for (Map.Entry<Long, Match> entry : wordMatches.entrySet()) {
+                    Match match = previous.get(entry.getKey());
+                    if (match != null) {
+                        matches.put(entry.getKey(), new Match(match.document(), match.score() + entry.getValue().score()));
+                    }
+                }
+            }
+            if (matches.isEmpty()) {
+                return List.of();
+            }
+        }
+        // keep only the best matches in a heap whose head is the worst of them
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        for (Match match : matches.values()) {
+            best.offer(match);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        return best.stream()
+                .sorted(RANKING)
+                .map(match -> match.document().employee())
+                .toList();
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private Map<Long, Match> match(String queryWord) {
+        Map<Long, Match> matches = new HashMap<>();
+        String prefix = queryWord.length() > MAX_PREFIX_LENGTH ? queryWord.substring(0, MAX_PREFIX_LENGTH) : queryWord;
+        for (Long id : prefixes.getOrDefault(prefix, Set.of())) {
+            Document document = documents.get(id);
+            if (document == null) {
+                continue;
+            }
+            if (document.words().contains(queryWord)) {
+                matches.put(id, new Match(document, EXACT_SCORE));
+            } else if (document.words().stream().anyMatch(word -> word.startsWith(queryWord))) {
+                matches.put(id, new Match(document, PREFIX_SCORE));
+            }
+        }
+        Set<String> queryTrigrams = trigrams(queryWord);
+        if (queryTrigrams.isEmpty()) {
+            return matches;
+        }
+        Set<Long> candidates = new HashSet<>();
+        for (String trigram : queryTrigrams) {
+            candidates.addAll(trigrams.getOrDefault(trigram, Set.of()));
+        }
+        for (Long id : candidates) {
+            Document document = documents.get(id);
+            if (document == null || matches.containsKey(id)) {
+                continue;
+            }
+            double similarity = 0;
+            for (Set<String> wordTrigrams : document.wordTrigrams()) {
+                similarity = Math.max(similarity, similarity(queryTrigrams, wordTrigrams));
+            }
+            if (similarity >= MIN_SIMILARITY) {
+                matches.put(id, new Match(document, similarity));
+            }
+        }
+        return matches;
+    }
+
+    private synchronized void putLoaded(Employee employee) {
+        if (!removedWhileLoading.contains(employee.getId())) {
+            put(employee);
+        }
+    }
+
+    private synchronized void removeDocument(Long id) {
+        if (loading) {
+            removedWhileLoading.add(id);
+        }
+        delete(id);
+    }
+
+    private synchronized void put(Employee employee) {
+        Document current = documents.get(employee.getId());
+        if (current != null && isOlder(employee, current.employee())) {
+            return;
+        }
+        delete(employee.getId());
+        Set<String> words = new HashSet<>();
+        words.addAll(words(employee.getFirstName()));
+        words.addAll(words(employee.getLastName()));
+        words.addAll(words(localPart(employee.getEmail())));
+        List<Set<String>> wordTrigrams = new ArrayList<>(words.size());
+        for (String word : words) {
+            for (int length = 1; length <= Math.min(word.length(), MAX_PREFIX_LENGTH); length++) {
+                prefixes.computeIfAbsent(word.substring(0, length), key -> ConcurrentHashMap.newKeySet()).add(employee.getId());
+            }
+            Set<String> trigramsOfWord = trigrams(word);
+            if (!trigramsOfWord.isEmpty()) {
+                wordTrigrams.add(trigramsOfWord);
+            }
+            for (String trigram : trigramsOfWord) {
+                trigrams.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet()).add(employee.getId());
+            }
+        }
+        documents.put(employee.getId(), new Document(employee, Set.copyOf(words), List.copyOf(wordTrigrams)));
+    }
+
+    private synchronized void delete(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String word : document.words()) {
+            for (int length = 1; length <= Math.min(word.length(), MAX_PREFIX_LENGTH); length++) {
+                removeKey(prefixes, word.substring(0, length), id);
+            }
+        }
+        for (Set<String> wordTrigrams : document.wordTrigrams()) {
+            for (String trigram : wordTrigrams) {
+                removeKey(trigrams, trigram, id);
+            }
+        }
+    }
+
+    private static void removeKey(Map<String, Set<Long>> index, String key, Long id) {
+        Set<Long> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private static boolean isOlder(Employee employee, Employee indexed) {
+        return employee.getVersion() != null && indexed.getVersion() != null && employee.getVersion() < indexed.getVersion();
+    }
+
+    private static String localPart(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.indexOf('@');
+        return at < 0 ? email : email.substring(0, at);
+    }
+
+    static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static Set<String> trigrams(String word) {
+        if (word.length() < 3) {
+            return Set.of();
+        }
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= word.length(); i++) {
+            trigrams.add(word.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Dice coefficient of two trigram sets.
+     */
+    private static double similarity(Set<String> first, Set<String> second) {
+        if (first.isEmpty() || second.isEmpty()) {
+            return 0;
+        }
+        int shared = 0;
+        for (String trigram : first) {
+            if (second.contains(trigram)) {
+                shared++;
+            }
+        }
+        return 2.0 * shared / (first.size() + second.size());
+    }
+}
@@ -1,15 +1,29 @@
 package com.pblgllgs.testingsb3.service;
 
 import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.model.EmployeeFilter;
+import com.pblgllgs.testingsb3.model.EmployeeLookup;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
 
     Employee saveEmployee(Employee employee);
+    List<Employee> saveAll(List<Employee> employees);
     List<Employee> getAllEmployees();
+    List<Employee> getEmployeesAfter(Long afterId, int limit);
+    List<Employee> findEmployees(EmployeeFilter filter, Sort sort, int limit);
+    List<Map<String, Object>> findEmployeeFields(EmployeeFilter filter, Sort sort, int limit, List<String> fields);
+    void streamAllEmployees(Consumer<Employee> action);
     Optional<Employee> findById(Long id);
-    Employee updateEmployee(Employee employee);
-    void deleteEmployee(Long id);
+    EmployeeLookup findAllById(List<Long> ids);
+    List<Employee> findByName(String firstName, String lastName);
+    List<Employee> searchEmployees(String query, int limit);
+    Optional<Employee> updateEmployee(Long id, Employee changes, Long expectedVersion);
+    boolean deleteEmployee(Long id, Long expectedVersion);
+    int deleteEmployees(List<Long> ids);
 }
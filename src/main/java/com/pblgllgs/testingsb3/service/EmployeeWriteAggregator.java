@@ -0,0 +1,248 @@
+package com.pblgllgs.testingsb3.service;
+
+import com.pblgllgs.testingsb3.exception.EmployeeAlreadyExistsException;
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.model.EmployeeChange;
+import com.pblgllgs.testingsb3.repository.EmployeeJdbcRepository;
+import com.pblgllgs.testingsb3.repository.EmployeeOutboxRepository;
+import com.pblgllgs.testingsb3.repository.EmployeeRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Turns concurrent single employee creations into batched inserts. Calls to
+ * {@link EmployeeService#saveEmployee(Employee)} are queued and a single flusher thread collects them
+ * for up to {@code employee.write-batching.window} or {@code max-size} writes, then checks their emails
+ * with one query and inserts them with one batched statement in one transaction. Every caller gets back
+ * its own employee or its own {@link EmployeeAlreadyExistsException}.
+ * <p>
+ * Runs before the transaction advice, so waiting callers hold no connection. Updates, calls made inside
+ * a transaction and calls arriving while the queue is full or the flusher is stopped go straight to the
+ * service. A write still queued after {@code employee.write-batching.timeout} is taken back and saved
+ * directly; a write the flusher has already taken may be committing, so its caller waits for the outcome.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "employee.write-batching", name = "enabled", havingValue = "true")
+public class EmployeeWriteAggregator {
+
+    record PendingWrite(Employee employee, CompletableFuture<Employee> result) {
+    }
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeJdbcRepository employeeJdbcRepository;
+    private final EmployeeOutboxRepository employeeOutboxRepository;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final long windowNanos;
+    private final int maxSize;
+    private final long timeoutNanos;
+    private final BlockingQueue<PendingWrite> queue;
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("employee-write-batch-"));
+    private final DistributionSummary batchSizes;
+    private volatile boolean running;
+
+    @Autowired
+    public EmployeeWriteAggregator(EmployeeRepository employeeRepository,
+                                   EmployeeJdbcRepository employeeJdbcRepository,
+                                   EmployeeOutboxRepository employeeOutboxRepository,
+                                   EmployeeSearchIndex employeeSearchIndex,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${employee.write-batching.window:2ms}") Duration window,
+                                   @Value("${employee.write-batching.max-size:100}") int maxSize,
+                                   @Value("${employee.write-batching.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${employee.write-batching.timeout:5s}") Duration timeout,
+                                   MeterRegistry meterRegistry) {
+        this(employeeRepository, employeeJdbcRepository, employeeOutboxRepository, employeeSearchIndex,
+                new TransactionTemplate(transactionManager), window, maxSize, queueCapacity, timeout, meterRegistry);
+    }
+
+    public EmployeeWriteAggregator(EmployeeRepository employeeRepository,
+                                   EmployeeJdbcRepository employeeJdbcRepository,
+                                   EmployeeOutboxRepository employeeOutboxRepository,
+                                   EmployeeSearchIndex employeeSearchIndex,
+                                   TransactionTemplate transactionTemplate,
+                                   Duration window,
+                                   int maxSize,
+                                   int queueCapacity,
+                                   Duration timeout,
+                                   MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.employeeJdbcRepository = employeeJdbcRepository;
+        this.employeeOutboxRepository = employeeOutboxRepository;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.windowNanos = window.toNanos();
+        this.maxSize = maxSize;
+        this.timeoutNanos = timeout.toNanos();
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSizes = DistributionSummary.builder("employee.write.batch.size")
+                .description("Employee creations inserted per batch")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher.execute(this::run);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+    }
+
+    @Around("execution(* com.pblgllgs.testingsb3.service.EmployeeService.saveEmployee(..)) && args(employee)")
+    public Object saveEmployee(ProceedingJoinPoint joinPoint, Employee employee) throws Throwable {
+        if (employee.getId() != null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        PendingWrite write = new PendingWrite(employee, new CompletableFuture<>());
+        if (!running || !queue.offer(write)) {
+            return joinPoint.proceed();
+        }
+        try {
+            return write.result().get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        } catch (TimeoutException ex) {
+            // not picked up yet, nothing was written: save it directly
+            if (queue.remove(write)) {
+                return joinPoint.proceed();
+            }
+        }
+        // in flight, the flusher completes every write it has taken
+        try {
+            return write.result().get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(maxSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxSize) {
+                    PendingWrite next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxSize - batch.size());
+                }
+                try {
+                    flush(batch);
+                } catch (Throwable ex) {
+                    // keep the only flusher alive, the writes still pending in this batch fail with the error
+                    log.error("Batch of {} employees failed", batch.size(), ex);
+                    batch.forEach(write -> write.result().completeExceptionally(ex));
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running = false;
+            queue.drainTo(batch);
+            RejectedExecutionException rejected = new RejectedExecutionException("Employee write batching is shutting down");
+            batch.forEach(write -> write.result().completeExceptionally(rejected));
+        }
+    }
+
+    void flush(List<PendingWrite> batch) {
+        batchSizes.record(batch.size());
+        List<PendingWrite> accepted = new ArrayList<>(batch.size());
+        Set<String> emails = new HashSet<>();
+        for (PendingWrite write : batch) {
+            if (emails.add(write.employee().getEmail())) {
+                accepted.add(write);
+            } else {
+                write.result().completeExceptionally(alreadyExists(write.employee(), null));
+            }
+        }
+        try {
+            Set<String> existingEmails = new HashSet<>(employeeRepository.findExistingEmails(emails));
+            accepted.removeIf(write -> {
+                if (existingEmails.contains(write.employee().getEmail())) {
+                    write.result().completeExceptionally(alreadyExists(write.employee(), null));
+                    return true;
+                }
+                return false;
+            });
+            if (accepted.isEmpty()) {
+                return;
+            }
+            insert(accepted.stream().map(PendingWrite::employee).toList());
+            accepted.forEach(write -> write.result().complete(write.employee()));
+        } catch (DataIntegrityViolationException ex) {
+            // one row failed the whole batch, give every write its own outcome
+            log.debug("Batch of {} employees rejected, inserting one by one", accepted.size(), ex);
+            accepted.forEach(this::insertAlone);
+        } catch (RuntimeException ex) {
+            // not caused by a row, inserting them one by one would fail the same way
+            log.warn("Batch of {} employees failed", accepted.size(), ex);
+            accepted.forEach(write -> write.result().completeExceptionally(ex));
+        }
+    }
+
+    private void insertAlone(PendingWrite write) {
+        try {
+            insert(List.of(write.employee()));
+            write.result().complete(write.employee());
+        } catch (DuplicateKeyException ex) {
+            write.result().completeExceptionally(alreadyExists(write.employee(), ex));
+        } catch (Throwable ex) {
+            write.result().completeExceptionally(ex);
+        }
+    }
+
+    private void insert(List<Employee> employees) {
+        transactionTemplate.executeWithoutResult(status -> {
+            employeeJdbcRepository.insertAll(employees);
+            employeeOutboxRepository.appendAll(EmployeeChange.Type.CREATED, employees);
+            employeeSearchIndex.indexAll(employees);
+        });
+    }
+
+    private static EmployeeAlreadyExistsException alreadyExists(Employee employee, Throwable cause) {
+        return new EmployeeAlreadyExistsException("Employee already exists with email: " + employee.getEmail(), cause);
+    }
+}
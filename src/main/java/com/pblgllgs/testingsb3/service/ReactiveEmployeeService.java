@@ -0,0 +1,26 @@
+package com.pblgllgs.testingsb3.service;
+
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.model.EmployeeLookup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non blocking version of {@link EmployeeService}: empty results replace {@code Optional} and errors are signalled.
+ */
+public interface ReactiveEmployeeService {
+
+    Mono<Employee> saveEmployee(Employee employee);
+    Flux<Employee> saveAll(List<Employee> employees);
+    Flux<Employee> getAllEmployees();
+    Flux<Employee> getEmployeesAfter(Long afterId, int limit);
+    Mono<Employee> findById(Long id);
+    Mono<EmployeeLookup> findAllById(List<Long> ids);
+    Flux<Employee> findByName(String firstName, String lastName);
+    Flux<Employee> searchEmployees(String query, int limit);
+    Mono<Employee> updateEmployee(Long id, Employee changes, Long expectedVersion);
+    Mono<Boolean> deleteEmployee(Long id, Long expectedVersion);
+    Mono<Long> deleteEmployees(List<Long> ids);
+}
@@ -0,0 +1,409 @@
+package com.pblgllgs.testingsb3.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.model.EmployeeChange;
+import com.pblgllgs.testingsb3.model.EmployeeJob;
+import com.pblgllgs.testingsb3.repository.EmployeeJdbcRepository;
+import com.pblgllgs.testingsb3.repository.EmployeeOutboxRepository;
+import com.pblgllgs.testingsb3.repository.EmployeeRepository;
+import com.pblgllgs.testingsb3.service.EmployeeJobService;
+import com.pblgllgs.testingsb3.service.EmployeeSearchIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs imports and exports on a small fixed pool with a bounded queue, a full queue rejects new jobs
+ * instead of piling them up. Uploads are spooled to a file before the request returns, then read as a
+ * stream, validated and written in chunks of {@code employee.batch-size} rows, one transaction per chunk.
+ * Exports stream rows straight from JDBC into a file, so memory use does not depend on the table size.
+ */
+@Slf4j
+@Service
+public class EmployeeJobServiceImpl implements EmployeeJobService {
+
+    static final List<String> CSV_COLUMNS = List.of("id", "firstName", "lastName", "email", "version");
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeJdbcRepository employeeJdbcRepository;
+    private final EmployeeOutboxRepository employeeOutboxRepository;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper mapper;
+    private final Executor executor;
+    private final Path directory;
+    private final Duration retention;
+    private final Map<String, EmployeeJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public EmployeeJobServiceImpl(EmployeeRepository employeeRepository,
+                                  EmployeeJdbcRepository employeeJdbcRepository,
+                                  EmployeeOutboxRepository employeeOutboxRepository,
+                                  EmployeeSearchIndex employeeSearchIndex,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper mapper,
+                                  @Value("${employee.jobs.threads:2}") int threads,
+                                  @Value("${employee.jobs.queue-capacity:16}") int queueCapacity,
+                                  @Value("${employee.jobs.directory:${java.io.tmpdir}}") Path directory,
+                                  @Value("${employee.jobs.retention:PT1H}") Duration retention) {
+        this(employeeRepository, employeeJdbcRepository, employeeOutboxRepository, employeeSearchIndex, new TransactionTemplate(transactionManager),
+                mapper, new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("employee-job-")),
+                directory, retention);
+    }
+
+    public EmployeeJobServiceImpl(EmployeeRepository employeeRepository,
+                                  EmployeeJdbcRepository employeeJdbcRepository,
+                                  EmployeeOutboxRepository employeeOutboxRepository,
+                                  EmployeeSearchIndex employeeSearchIndex,
+                                  TransactionTemplate transactionTemplate,
+                                  ObjectMapper mapper,
+                                  Executor executor,
+                                  Path directory,
+                                  Duration retention) {
+        this.employeeRepository = employeeRepository;
+        this.employeeJdbcRepository = employeeJdbcRepository;
+        this.employeeOutboxRepository = employeeOutboxRepository;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.mapper = mapper;
+        this.executor = executor;
+        this.directory = directory;
+        this.retention = retention;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Override
+    public EmployeeJob startImport(EmployeeJob.Format format, InputStream content) throws IOException {
+        Path file = Files.createTempFile(directory, "employee-import-", extension(format));
+        try {
+            Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+            return submit(new EmployeeJob(EmployeeJob.Type.IMPORT, format), file);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+    }
+
+    @Override
+    public EmployeeJob startExport(EmployeeJob.Format format) {
+        return submit(new EmployeeJob(EmployeeJob.Type.EXPORT, format), null);
+    }
+
+    @Override
+    public Optional<EmployeeJob> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private EmployeeJob submit(EmployeeJob job, Path upload) {
+        evictExpiredJobs();
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, upload));
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(job.getId());
+            throw new RejectedExecutionException("Too many employee jobs in progress, retry later", ex);
+        }
+        return job;
+    }
+
+    private void run(EmployeeJob job, Path upload) {
+        try {
+            if (job.getType() == EmployeeJob.Type.IMPORT) {
+                runImport(job, upload);
+            } else {
+                runExport(job);
+            }
+        } catch (Exception ex) {
+            log.warn("Employee {} job {} failed", job.getType(), job.getId(), ex);
+            job.fail(ex.getMessage());
+        } finally {
+            if (upload != null) {
+                deleteQuietly(upload);
+            }
+        }
+    }
+
+    private void runImport(EmployeeJob job, Path file) throws IOException {
+        job.start(null);
+        int chunkSize = employeeJdbcRepository.getBatchSize();
+        List<Employee> chunk = new ArrayList<>(chunkSize);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Consumer<Employee> collector = employee -> {
+                chunk.add(employee);
+                if (chunk.size() == chunkSize) {
+                    importChunk(job, chunk);
+                    chunk.clear();
+                }
+            };
+            if (job.getFormat() == EmployeeJob.Format.CSV) {
+                readCsv(job, reader, collector);
+            } else {
+                readNdjson(job, reader, collector);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(job, chunk);
+        }
+        job.complete(null);
+    }
+
+    private void importChunk(EmployeeJob job, List<Employee> chunk) {
+        Set<String> emails = new HashSet<>();
+        List<Employee> valid = new ArrayList<>(chunk.size());
+        for (Employee employee : chunk) {
+            if (isBlank(employee.getFirstName()) || isBlank(employee.getLastName()) || isBlank(employee.getEmail())) {
+                job.addSkipped(1, "Missing firstName, lastName or email: " + employee);
+            } else if (!emails.add(employee.getEmail())) {
+                job.addSkipped(1, "Duplicated email in file: " + employee.getEmail());
+            } else {
+                employee.setId(null);
+                employee.setVersion(null);
+                valid.add(employee);
+            }
+        }
+        if (!emails.isEmpty()) {
+            Set<String> existingEmails = new HashSet<>(employeeRepository.findExistingEmails(emails));
+            valid.removeIf(employee -> {
+                if (existingEmails.contains(employee.getEmail())) {
+                    job.addSkipped(1, "Employee already exists with email: " + employee.getEmail());
+                    return true;
+                }
+                return false;
+            });
+        }
+        if (!valid.isEmpty()) {
+            try {
+                insert(valid);
+            } catch (DuplicateKeyException ex) {
+                // another writer inserted one of the emails after the check above, only skip that row
+                valid.removeIf(employee -> !insertAlone(job, employee));
+            }
+        }
+        job.addProcessed(valid.size());
+    }
+
+    private boolean insertAlone(EmployeeJob job, Employee employee) {
+        try {
+            insert(List.of(employee));
+            return true;
+        } catch (DuplicateKeyException ex) {
+            job.addSkipped(1, "Employee already exists with email: " + employee.getEmail());
+            return false;
+        }
+    }
+
+    private void insert(List<Employee> employees) {
+        transactionTemplate.executeWithoutResult(status -> {
+            employeeJdbcRepository.insertAll(employees);
+            employeeOutboxRepository.appendAll(EmployeeChange.Type.CREATED, employees);
+            employeeSearchIndex.indexAll(employees);
+        });
+    }
+
+    private void readCsv(EmployeeJob job, BufferedReader reader, Consumer<Employee> collector) throws IOException {
+        List<String> columns = List.of("firstName", "lastName", "email");
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> values = parseCsvLine(line);
+            if (lineNumber == 1 && values.contains("email")) {
+                columns = values;
+                continue;
+            }
+            if (values.size() != columns.size()) {
+                job.addSkipped(1, "Line " + lineNumber + ": expected " + columns.size() + " values but got " + values.size());
+                continue;
+            }
+            collector.accept(Employee.builder()
+                    .firstName(value(columns, values, "firstName"))
+                    .lastName(value(columns, values, "lastName"))
+                    .email(value(columns, values, "email"))
+                    .build());
+        }
+    }
+
+    /**
+     * Like a CSV line with the wrong number of values, a line that is not a valid employee is skipped
+     * and counted: the chunks before it are already committed, failing the job would leave it half done.
+     */
+    private void readNdjson(EmployeeJob job, BufferedReader reader, Consumer<Employee> collector) throws IOException {
+        ObjectReader employeeReader = mapper.readerFor(Employee.class);
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            Employee employee;
+            try {
+                employee = employeeReader.readValue(line);
+            } catch (JsonProcessingException ex) {
+                job.addSkipped(1, "Line " + lineNumber + ": " + ex.getOriginalMessage());
+                continue;
+            }
+            collector.accept(employee);
+        }
+    }
+
+    private void runExport(EmployeeJob job) throws IOException {
+        job.start(employeeRepository.count());
+        Path file = Files.createTempFile(directory, "employee-export-", extension(job.getFormat()));
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (job.getFormat() == EmployeeJob.Format.CSV) {
+                writer.write(String.join(",", CSV_COLUMNS));
+                writer.newLine();
+            }
+            employeeJdbcRepository.forEachEmployee(employee -> {
+                try {
+                    write(job.getFormat(), employee, writer);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                job.addProcessed(1);
+            });
+        } catch (IOException | RuntimeException ex) {
+            deleteQuietly(file);
+            throw ex;
+        }
+        job.complete(file);
+    }
+
+    private void write(EmployeeJob.Format format, Employee employee, Writer writer) throws IOException {
+        if (format == EmployeeJob.Format.CSV) {
+            writer.write(employee.getId() + "," + csvValue(employee.getFirstName()) + "," + csvValue(employee.getLastName())
+                    + "," + csvValue(employee.getEmail()) + "," + employee.getVersion());
+        } else {
+            writer.write(mapper.writeValueAsString(employee));
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Forgets finished jobs older than {@code employee.jobs.retention} and deletes their export files.
+     */
+    @Scheduled(fixedDelayString = "${employee.jobs.cleanup-interval:60000}")
+    public void evictExpiredJobs() {
+        LocalDateTime expiry = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            if (job.isFinished() && job.getFinishedAt().isBefore(expiry)) {
+                if (job.getFile() != null) {
+                    deleteQuietly(job.getFile());
+                }
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Splits one CSV line, values may be quoted and quotes inside quoted values are doubled.
+     * Quoted values spanning several lines are not supported.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString().trim());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString().trim());
+        return values;
+    }
+
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String value(List<String> columns, List<String> values, String column) {
+        int index = columns.indexOf(column);
+        return index < 0 ? null : values.get(index);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String extension(EmployeeJob.Format format) {
+        return format == EmployeeJob.Format.CSV ? ".csv" : ".ndjson";
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete {}", file, ex);
+        }
+    }
+}
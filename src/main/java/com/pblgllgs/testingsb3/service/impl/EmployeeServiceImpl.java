@@ -1,53 +1,390 @@
 package com.pblgllgs.testingsb3.service.impl;
 
+import com.pblgllgs.testingsb3.config.CacheConfig;
 import com.pblgllgs.testingsb3.exception.EmployeeAlreadyExistsException;
-import com.pblgllgs.testingsb3.exception.EmployeeNotExistsException;
+import com.pblgllgs.testingsb3.exception.InvalidEmployeeQueryException;
 import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.model.EmployeeChange;
+import com.pblgllgs.testingsb3.model.EmployeeFilter;
+import com.pblgllgs.testingsb3.model.EmployeeLookup;
+import com.pblgllgs.testingsb3.repository.EmployeeJdbcRepository;
+import com.pblgllgs.testingsb3.repository.EmployeeOutboxRepository;
 import com.pblgllgs.testingsb3.repository.EmployeeRepository;
+import com.pblgllgs.testingsb3.repository.EmployeeSpecifications;
+import com.pblgllgs.testingsb3.service.EmployeeSearchIndex;
 import com.pblgllgs.testingsb3.service.EmployeeService;
+import com.pblgllgs.testingsb3.service.SingleFlight;
+import com.pblgllgs.testingsb3.service.StripedLocks;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed("employee.service")
 public class EmployeeServiceImpl implements EmployeeService {
 
+    private static final int UPDATE_LOCK_STRIPES = 256;
+
     private final EmployeeRepository employeeRepository;
+    private final EmployeeJdbcRepository employeeJdbcRepository;
+    private final EntityManager entityManager;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final EmployeeOutboxRepository employeeOutboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final SingleFlight<Long, Optional<Employee>> findByIdCalls = new SingleFlight<>();
+    private final StripedLocks updateLocks = new StripedLocks(UPDATE_LOCK_STRIPES);
 
     @Override
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#result.id")
     public Employee saveEmployee(Employee employee) {
-        Optional<Employee> employeeDB = employeeRepository.findEmployeeByEmail(employee.getEmail());
-        if (employeeDB.isPresent()) {
-            throw new EmployeeAlreadyExistsException("Employee already exists with id: " + employee.getId());
+        try {
+            Employee savedEmployee = employeeRepository.save(employee);
+            employeeOutboxRepository.append(EmployeeChange.Type.CREATED, savedEmployee);
+            employeeSearchIndex.index(savedEmployee);
+            return savedEmployee;
+        } catch (DataIntegrityViolationException ex) {
+            throw translateDuplicateEmail(employee, ex);
         }
-        return employeeRepository.save(employee);
     }
 
     @Override
+    @Transactional
+    public List<Employee> saveAll(List<Employee> employees) {
+        Set<String> emails = new HashSet<>();
+        Set<String> duplicatedEmails = new LinkedHashSet<>();
+        for (Employee employee : employees) {
+            if (!emails.add(employee.getEmail())) {
+                duplicatedEmails.add(employee.getEmail());
+            }
+        }
+        List<String> requestEmails = List.copyOf(emails);
+        int chunkSize = employeeJdbcRepository.getBatchSize();
+        for (int from = 0; from < requestEmails.size(); from += chunkSize) {
+            duplicatedEmails.addAll(employeeRepository.findExistingEmails(
+                    requestEmails.subList(from, Math.min(from + chunkSize, requestEmails.size()))));
+        }
+        if (!duplicatedEmails.isEmpty()) {
+            throw new EmployeeAlreadyExistsException("Employees already exist with emails: " + duplicatedEmails);
+        }
+        try {
+            List<Employee> savedEmployees = employeeJdbcRepository.insertAll(employees);
+            employeeOutboxRepository.appendAll(EmployeeChange.Type.CREATED, savedEmployees);
+            employeeSearchIndex.indexAll(savedEmployees);
+            return savedEmployees;
+        } catch (DuplicateKeyException ex) {
+            // another request inserted one of the emails after the check above, rows of the batches
+            // already inserted by this request got their ids and are not reported
+            List<String> pendingEmails = employees.stream()
+                    .filter(employee -> employee.getId() == null)
+                    .map(Employee::getEmail)
+                    .toList();
+            for (int from = 0; from < pendingEmails.size(); from += chunkSize) {
+                duplicatedEmails.addAll(employeeJdbcRepository.findTakenEmails(
+                        pendingEmails.subList(from, Math.min(from + chunkSize, pendingEmails.size()))));
+            }
+            throw new EmployeeAlreadyExistsException("Employees already exist with emails: " + duplicatedEmails, ex);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees() {
         return employeeRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Employee> getEmployeesAfter(Long afterId, int limit) {
+        return employeeRepository.findEmployeesAfter(afterId, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Employee> findEmployees(EmployeeFilter filter, Sort sort, int limit) {
+        Sort order = stableSort(filter, sort);
+        return employeeRepository.findBy(EmployeeSpecifications.matching(filter),
+                query -> query.sortBy(order).limit(limit).all());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findEmployeeFields(EmployeeFilter filter, Sort sort, int limit, List<String> fields) {
+        List<String> selectedFields = fields.stream().distinct().toList();
+        selectedFields.forEach(EmployeeServiceImpl::checkField);
+        return employeeRepository.findEmployeeFields(
+                EmployeeSpecifications.matching(filter), stableSort(filter, sort), limit, selectedFields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllEmployees(Consumer<Employee> action) {
+        try (Stream<Employee> employees = employeeRepository.streamAllEmployees()) {
+            employees.forEach(employee -> {
+                action.accept(employee);
+                // keep the persistence context from growing with every row read
+                entityManager.detach(employee);
+            });
+        }
+    }
+
+    /**
+     * Cache misses for the same id running at the same time share one query. Not transactional
+     * itself so that waiting callers do not hold a connection. The query runs in its own read-write
+     * transaction: what it loads stays cached for minutes, so it is read from the primary, never from
+     * a replica that may not have the latest update yet. A miss is an empty result, not an exception,
+     * and is not cached.
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_CACHE, unless = "#result == null")
     public Optional<Employee> findById(Long id) {
-        Optional<Employee> employeeDB = employeeRepository.findById(id);
-        if (employeeDB.isEmpty()) {
-            throw new EmployeeNotExistsException("Employee not exists with id: " + id);
+        return findByIdCalls.execute(id, () -> transactionTemplate.execute(status -> employeeRepository.findById(id)));
+    }
+
+    /**
+     * One {@code IN} query per {@code employee.batch-size} distinct ids.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeLookup findAllById(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        int chunkSize = employeeJdbcRepository.getBatchSize();
+        Map<Long, Employee> employeesById = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            employeeRepository.findAllById(distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size())))
+                    .forEach(employee -> employeesById.put(employee.getId(), employee));
+        }
+        List<Employee> employees = new ArrayList<>(employeesById.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Employee employee = employeesById.get(id);
+            if (employee == null) {
+                missingIds.add(id);
+            } else {
+                employees.add(employee);
+            }
+        }
+        return new EmployeeLookup(employees, missingIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Employee> findByName(String firstName, String lastName) {
+        return employeeRepository.findEmployeesByFirstNameAndLastName(firstName, lastName);
+    }
+
+    @Override
+    public List<Employee> searchEmployees(String query, int limit) {
+        return employeeSearchIndex.search(query, limit);
+    }
+
+    /**
+     * Concurrent updates of an id queue on a striped lock taken before the transaction starts, so a
+     * waiting update does not hold a pooled connection. The lock is released once the transaction
+     * completes, or once the caller's transaction completes when called inside one. The cached employee
+     * is replaced just before, still under the lock, so cache writes of an id follow the commit order.
+     */
+    @Override
+    public Optional<Employee> updateEmployee(Long id, Employee changes, Long expectedVersion) {
+        Lock lock = updateLocks.get(id);
+        lock.lock();
+        Optional<Employee> updatedEmployee = null;
+        try {
+            updatedEmployee = transactionTemplate.execute(status -> updateEmployeeLocked(id, changes, expectedVersion));
+            return updatedEmployee;
+        } finally {
+            cacheAndUnlockAfterCompletion(id, updatedEmployee, lock);
         }
-        return employeeDB;
+    }
+
+    private Optional<Employee> updateEmployeeLocked(Long id, Employee changes, Long expectedVersion) {
+        if (changes.getFirstName() == null && changes.getLastName() == null && changes.getEmail() == null) {
+            Optional<Employee> employeeDB = employeeRepository.findById(id);
+            employeeDB.ifPresent(employee -> checkVersion(employee, expectedVersion));
+            return employeeDB;
+        }
+        int updatedRows;
+        try {
+            updatedRows = employeeJdbcRepository.updateFields(id, changes, expectedVersion);
+        } catch (DuplicateKeyException ex) {
+            throw new EmployeeAlreadyExistsException("Employee already exists with email: " + changes.getEmail(), ex);
+        }
+        if (updatedRows == 0) {
+            if (expectedVersion != null && employeeRepository.existsById(id)) {
+                throw new OptimisticLockingFailureException("Employee was modified concurrently, id: " + id);
+            }
+            return Optional.empty();
+        }
+        Optional<Employee> updatedEmployee;
+        if (changes.getFirstName() != null && changes.getLastName() != null && changes.getEmail() != null) {
+            // every column was written, only the version may be unknown
+            updatedEmployee = Optional.of(Employee.builder()
+                    .id(id)
+                    .firstName(changes.getFirstName())
+                    .lastName(changes.getLastName())
+                    .email(changes.getEmail())
+                    .version(expectedVersion == null ? employeeJdbcRepository.findVersion(id) : expectedVersion + 1)
+                    .build());
+        } else {
+            updatedEmployee = employeeRepository.findById(id);
+        }
+        updatedEmployee.ifPresent(employee -> {
+            employeeOutboxRepository.append(EmployeeChange.Type.UPDATED, employee);
+            employeeSearchIndex.index(employee);
+        });
+        return updatedEmployee;
     }
 
     @Override
-    public Employee updateEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+    public boolean deleteEmployee(Long id, Long expectedVersion) {
+        int deleted = expectedVersion == null
+                ? employeeRepository.deleteEmployeeById(id)
+                : employeeRepository.deleteEmployeeByIdAndVersion(id, expectedVersion);
+        if (deleted > 0) {
+            employeeOutboxRepository.appendDeleted(List.of(id));
+            employeeSearchIndex.remove(id);
+            return true;
+        }
+        if (expectedVersion != null && employeeRepository.existsById(id)) {
+            throw new OptimisticLockingFailureException("Employee was modified concurrently, id: " + id);
+        }
+        return false;
     }
 
     @Override
-    public void deleteEmployee(Long id) {
-        employeeRepository.deleteById(id);
+    @Transactional
+    public int deleteEmployees(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        int chunkSize = employeeJdbcRepository.getBatchSize();
+        int deleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            List<Long> existingIds = employeeRepository.findExistingIds(
+                    distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size())));
+            if (!existingIds.isEmpty()) {
+                deleted += employeeRepository.deleteEmployeesByIds(existingIds);
+                employeeOutboxRepository.appendDeleted(existingIds);
+                employeeSearchIndex.removeAll(existingIds);
+                evictAfterCompletion(existingIds);
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Appends the id so that rows with equal sort keys always come back in the same order. The
+     * {@code afterId} cursor is an {@code id >} condition, it only pages correctly in ascending id order.
+     */
+    private static Sort stableSort(EmployeeFilter filter, Sort sort) {
+        sort.forEach(order -> checkField(order.getProperty()));
+        if (filter.afterId() != null && sort.stream().anyMatch(order -> !order.getProperty().equals("id") || order.isDescending())) {
+            throw new InvalidEmployeeQueryException("Parameter 'after' can only be combined with sort=id,asc, got sort=" + sort);
+        }
+        return sort.getOrderFor("id") == null ? sort.and(Sort.by("id")) : sort;
+    }
+
+    private static void checkField(String field) {
+        if (!Employee.FIELDS.contains(field)) {
+            throw new InvalidEmployeeQueryException("Unknown employee field: " + field + ", expected one of " + Employee.FIELDS);
+        }
+    }
+
+    private void cacheAndUnlockAfterCompletion(Long id, Optional<Employee> updatedEmployee, Lock lock) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cacheAndUnlock(id, updatedEmployee, lock);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cacheAndUnlock(id, status == STATUS_COMMITTED ? updatedEmployee : null, lock);
+            }
+        });
+    }
+
+    /**
+     * Evicts only the given employees, once the transaction has completed so that a concurrent read
+     * cannot cache a row the transaction is about to delete.
+     */
+    private void evictAfterCompletion(List<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        if (cache == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ids.forEach(cache::evict);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                ids.forEach(cache::evict);
+            }
+        });
+    }
+
+    /**
+     * A failed or rolled back update only evicts, the next read loads the row again.
+     */
+    private void cacheAndUnlock(Long id, Optional<Employee> updatedEmployee, Lock lock) {
+        try {
+            Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+            if (cache != null) {
+                if (updatedEmployee != null && updatedEmployee.isPresent()) {
+                    cache.put(id, updatedEmployee.get());
+                } else {
+                    cache.evict(id);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void checkVersion(Employee employee, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(employee.getVersion())) {
+            throw new OptimisticLockingFailureException("Employee was modified concurrently, id: " + employee.getId());
+        }
+    }
+
+    private static RuntimeException translateDuplicateEmail(Employee employee, DataIntegrityViolationException ex) {
+        if (ex.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().contains(Employee.EMAIL_UNIQUE_INDEX)) {
+            return new EmployeeAlreadyExistsException("Employee already exists with email: " + employee.getEmail(), ex);
+        }
+        return ex;
     }
 }
@@ -0,0 +1,187 @@
+package com.pblgllgs.testingsb3.service.impl;
+
+import com.pblgllgs.testingsb3.exception.EmployeeAlreadyExistsException;
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.model.EmployeeLookup;
+import com.pblgllgs.testingsb3.repository.ReactiveEmployeeRepository;
+import com.pblgllgs.testingsb3.service.EmployeeSearchIndex;
+import com.pblgllgs.testingsb3.service.ReactiveEmployeeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    private final ReactiveEmployeeRepository reactiveEmployeeRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final EmployeeSearchIndex employeeSearchIndex;
+
+    @Override
+    public Mono<Employee> saveEmployee(Employee employee) {
+        return reactiveEmployeeRepository.insert(employee)
+                .onErrorMap(ReactiveEmployeeServiceImpl::isDuplicateEmail,
+                        ex -> new EmployeeAlreadyExistsException("Employee already exists with email: " + employee.getEmail(), ex))
+                .doOnNext(employeeSearchIndex::index);
+    }
+
+    @Override
+    public Flux<Employee> saveAll(List<Employee> employees) {
+        Set<String> emails = new HashSet<>();
+        Set<String> duplicatedEmails = new LinkedHashSet<>();
+        for (Employee employee : employees) {
+            if (!emails.add(employee.getEmail())) {
+                duplicatedEmails.add(employee.getEmail());
+            }
+        }
+        if (!duplicatedEmails.isEmpty()) {
+            return Flux.error(new EmployeeAlreadyExistsException("Employees already exist with emails: " + duplicatedEmails));
+        }
+        // collected after the transaction completes, so only committed employees are indexed
+        return transactionalOperator.transactional(reactiveEmployeeRepository.insertAll(employees))
+                .onErrorMap(ReactiveEmployeeServiceImpl::isDuplicateEmail,
+                        ex -> new EmployeeAlreadyExistsException("Employees already exist with emails: " + emails, ex))
+                .collectList()
+                .doOnNext(employeeSearchIndex::indexAll)
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return reactiveEmployeeRepository.findAll();
+    }
+
+    @Override
+    public Flux<Employee> getEmployeesAfter(Long afterId, int limit) {
+        return reactiveEmployeeRepository.findEmployeesAfter(afterId, limit);
+    }
+
+    @Override
+    public Mono<Employee> findById(Long id) {
+        return reactiveEmployeeRepository.findById(id);
+    }
+
+    @Override
+    public Mono<EmployeeLookup> findAllById(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return Mono.just(new EmployeeLookup(List.of(), List.of()));
+        }
+        return reactiveEmployeeRepository.findAllById(distinctIds)
+                .collect(Collectors.toMap(Employee::getId, Function.identity()))
+                .map(employeesById -> lookup(distinctIds, employeesById));
+    }
+
+    @Override
+    public Flux<Employee> findByName(String firstName, String lastName) {
+        return reactiveEmployeeRepository.findEmployeesByFirstNameAndLastName(firstName, lastName);
+    }
+
+    @Override
+    public Flux<Employee> searchEmployees(String query, int limit) {
+        return Flux.defer(() -> Flux.fromIterable(employeeSearchIndex.search(query, limit)));
+    }
+
+    @Override
+    public Mono<Employee> updateEmployee(Long id, Employee changes, Long expectedVersion) {
+        if (changes.getFirstName() == null && changes.getLastName() == null && changes.getEmail() == null) {
+            return reactiveEmployeeRepository.findById(id)
+                    .flatMap(employee -> expectedVersion == null || expectedVersion.equals(employee.getVersion())
+                            ? Mono.just(employee)
+                            : Mono.error(modifiedConcurrently(id)));
+        }
+        // one transaction, so the version read back is the one this update wrote
+        return transactionalOperator.transactional(reactiveEmployeeRepository.updateFields(id, changes, expectedVersion)
+                .onErrorMap(ReactiveEmployeeServiceImpl::isDuplicateEmail,
+                        ex -> new EmployeeAlreadyExistsException("Employee already exists with email: " + changes.getEmail(), ex))
+                .flatMap(updatedRows -> {
+                    if (updatedRows == 0) {
+                        return expectedVersion == null
+                                ? Mono.empty()
+                                : reactiveEmployeeRepository.existsById(id)
+                                .flatMap(exists -> exists ? Mono.error(modifiedConcurrently(id)) : Mono.empty());
+                    }
+                    if (changes.getFirstName() != null && changes.getLastName() != null && changes.getEmail() != null) {
+                        // every column was written, only the version may be unknown
+                        Mono<Long> version = expectedVersion == null
+                                ? reactiveEmployeeRepository.findVersion(id)
+                                : Mono.just(expectedVersion + 1);
+                        return version.map(newVersion -> Employee.builder()
+                                .id(id)
+                                .firstName(changes.getFirstName())
+                                .lastName(changes.getLastName())
+                                .email(changes.getEmail())
+                                .version(newVersion)
+                                .build());
+                    }
+                    return reactiveEmployeeRepository.findById(id);
+                }))
+                .doOnNext(employeeSearchIndex::index);
+    }
+
+    @Override
+    public Mono<Boolean> deleteEmployee(Long id, Long expectedVersion) {
+        return reactiveEmployeeRepository.deleteById(id, expectedVersion)
+                .flatMap(deletedRows -> {
+                    if (deletedRows > 0) {
+                        employeeSearchIndex.remove(id);
+                        return Mono.just(true);
+                    }
+                    if (expectedVersion == null) {
+                        return Mono.just(false);
+                    }
+                    return reactiveEmployeeRepository.existsById(id)
+                            .flatMap(exists -> exists ? Mono.error(modifiedConcurrently(id)) : Mono.just(false));
+                });
+    }
+
+    @Override
+    public Mono<Long> deleteEmployees(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return reactiveEmployeeRepository.deleteByIds(distinctIds)
+                .doOnNext(deleted -> employeeSearchIndex.removeAll(distinctIds));
+    }
+
+    private static EmployeeLookup lookup(List<Long> ids, Map<Long, Employee> employeesById) {
+        List<Employee> employees = new ArrayList<>(employeesById.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            Employee employee = employeesById.get(id);
+            if (employee == null) {
+                missingIds.add(id);
+            } else {
+                employees.add(employee);
+            }
+        }
+        return new EmployeeLookup(employees, missingIds);
+    }
+
+    private static OptimisticLockingFailureException modifiedConcurrently(Long id) {
+        return new OptimisticLockingFailureException("Employee was modified concurrently, id: " + id);
+    }
+
+    private static boolean isDuplicateEmail(Throwable ex) {
+        return ex instanceof DataIntegrityViolationException
+                && ex.getMessage() != null
+                && ex.getMessage().contains(Employee.EMAIL_UNIQUE_INDEX);
+    }
+}
@@ -0,0 +1,3 @@
+-- fails if the table already holds duplicated emails, those rows must be cleaned up first
+ALTER TABLE employees
+    ADD CONSTRAINT uk_employees_email UNIQUE (email);
@@ -0,0 +1 @@
+CREATE INDEX idx_employees_first_name_last_name ON employees (first_name, last_name);
@@ -0,0 +1,2 @@
+ALTER TABLE employees
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
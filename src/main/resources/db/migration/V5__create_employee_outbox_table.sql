@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS employee_outbox
+(
+    sequence    BIGINT       NOT NULL AUTO_INCREMENT,
+    type        VARCHAR(16)  NOT NULL,
+    employee_id BIGINT       NOT NULL,
+    payload     JSON         NULL,
+    created_at  TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (sequence),
+    INDEX idx_employee_outbox_created_at (created_at)
+) ENGINE = InnoDB;
@@ -0,0 +1,2 @@
+-- lets MySQL answer name prefix filters on first_name OR last_name with an index merge
+CREATE INDEX idx_employees_last_name ON employees (last_name);
@@ -0,0 +1,70 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the application with the given command and measures the time until it answers a request
+ * with 200, process start included. Used by the cds and native Maven profiles:
+ * {@code java TimeToFirstRequest.java <mode> <url> <report file> <command...>}.
+ * The line is printed and appended to the report file, the application output goes to
+ * {@code startup-<mode>.log} next to it.
+ */
+public class TimeToFirstRequest {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("usage: java TimeToFirstRequest.java <mode> <url> <report file> <command...>");
+            System.exit(2);
+        }
+        String mode = args[0];
+        URI uri = URI.create(args[1]);
+        Path report = Path.of(args[2]);
+        List<String> command = Arrays.asList(args).subList(3, args.length);
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        Path log = report.resolveSibling("startup-" + mode + ".log");
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            while (!answers(client, request)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode + " exited with status " + process.exitValue() + ", see " + log);
+                }
+                if (System.nanoTime() - start > TIMEOUT.toNanos()) {
+                    throw new IllegalStateException(mode + " did not answer " + uri + " within " + TIMEOUT + ", see " + log);
+                }
+                Thread.sleep(10);
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            String line = String.format("%-10s time to first request: %6d ms%n", mode, millis);
+            System.out.print(line);
+            Files.writeString(report, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static boolean answers(HttpClient client, HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+}
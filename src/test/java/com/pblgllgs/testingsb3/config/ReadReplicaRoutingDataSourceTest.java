@@ -0,0 +1,111 @@
+package com.pblgllgs.testingsb3.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replica1;
+    @Mock
+    private DataSource replica2;
+
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setup() {
+        routingDataSource = new ReadReplicaRoutingDataSource(primary, List.of(replica1, replica2), 30_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("JUnit test for get connection outside a read-only transaction")
+    void givenReadWriteTransaction_whenGetConnection_thenUsePrimary() throws SQLException {
+        //given -  precondition or setup
+        Connection connection = mock(Connection.class);
+        given(primary.getConnection()).willReturn(connection);
+        // when - action or the behaviour that we are going the
+        Connection result = routingDataSource.getConnection();
+        // then
+        assertThat(result).isSameAs(connection);
+        verifyNoInteractions(replica1, replica2);
+    }
+
+    @Test
+    @DisplayName("JUnit test for get connection in read-only transactions")
+    void givenReadOnlyTransaction_whenGetConnection_thenUseReplicasRoundRobin() throws SQLException {
+        //given -  precondition or setup
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Connection connection1 = mock(Connection.class);
+        Connection connection2 = mock(Connection.class);
+        given(replica1.getConnection()).willReturn(connection1);
+        given(replica2.getConnection()).willReturn(connection2);
+        // when - action or the behaviour that we are going the
+        List<Connection> result = List.of(
+                routingDataSource.getConnection(),
+                routingDataSource.getConnection(),
+                routingDataSource.getConnection());
+        // then
+        assertThat(result).containsExactly(connection1, connection2, connection1);
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    @DisplayName("JUnit test for get connection with credentials in a read-only transaction")
+    void givenReadOnlyTransaction_whenGetConnectionWithCredentials_thenUseReplicaWithCredentials() throws SQLException {
+        //given -  precondition or setup
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Connection connection = mock(Connection.class);
+        given(replica1.getConnection("reporting", "secret")).willReturn(connection);
+        // when - action or the behaviour that we are going the
+        Connection result = routingDataSource.getConnection("reporting", "secret");
+        // then
+        assertThat(result).isSameAs(connection);
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    @DisplayName("JUnit test for get connection when replicas are unavailable")
+    void givenUnavailableReplicas_whenGetConnection_thenFallBackToPrimary() throws SQLException {
+        //given -  precondition or setup
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Connection connection = mock(Connection.class);
+        given(replica1.getConnection()).willThrow(new SQLException("replica1 down"));
+        given(replica2.getConnection()).willThrow(new SQLException("replica2 down"));
+        given(primary.getConnection()).willReturn(connection);
+        // when - action or the behaviour that we are going the
+        Connection first = routingDataSource.getConnection();
+        Connection second = routingDataSource.getConnection();
+        // then
+        assertThat(first).isSameAs(connection);
+        assertThat(second).isSameAs(connection);
+        // failed replicas are skipped until their downtime is over
+        verify(replica1, times(1)).getConnection();
+        verify(replica2, times(1)).getConnection();
+    }
+}
@@ -0,0 +1,49 @@
+package com.pblgllgs.testingsb3.controller;
+
+import com.pblgllgs.testingsb3.service.EmployeeChangeRelay;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@WebMvcTest(EmployeeChangeController.class)
+class EmployeeChangeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private EmployeeChangeRelay employeeChangeRelay;
+
+    @Test
+    @DisplayName("JUnit test for stream changes resuming from Last-Event-ID operation in controller layer")
+    void givenLastEventId_whenStreamChanges_thenSubscribeFromSequence() throws Exception {
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(get("/api/employees/changes")
+                .header("Last-Event-ID", "42")
+                .param("after", "7"));
+        // then
+        response.andExpect(request().asyncStarted());
+        verify(employeeChangeRelay).subscribe(any(SseEmitter.class), eq(42L));
+    }
+
+    @Test
+    @DisplayName("JUnit test for stream changes resuming from a sequence parameter operation in controller layer")
+    void givenAfterParameter_whenStreamChanges_thenSubscribeFromSequence() throws Exception {
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(get("/api/employees/changes")
+                .param("after", "7"));
+        // then
+        response.andExpect(request().asyncStarted());
+        verify(employeeChangeRelay).subscribe(any(SseEmitter.class), eq(7L));
+    }
+}
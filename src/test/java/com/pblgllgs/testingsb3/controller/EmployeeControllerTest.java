@@ -1,27 +1,45 @@
 package com.pblgllgs.testingsb3.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.pblgllgs.testingsb3.exception.GlobalHandlerExceptions;
+import com.pblgllgs.testingsb3.exception.InvalidEmployeeQueryException;
 import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.model.EmployeeFilter;
+import com.pblgllgs.testingsb3.model.EmployeeLookup;
 import com.pblgllgs.testingsb3.service.EmployeeService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(EmployeeController.class)
 class EmployeeControllerTest {
@@ -57,6 +75,34 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.email", is(employee.getEmail())));
     }
 
+    @Test
+    @DisplayName("JUnit test for create employees in batch operation in controller layer")
+    void givenListOfEmployees_whenCreateEmployees_thenReturnSavedEmployees() throws Exception {
+        //given -  precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("employee1")
+                .lastName("employee1")
+                .email("employee1@gmail.com")
+                .build();
+        Employee employee2 = Employee.builder()
+                .firstName("employee2")
+                .lastName("employee2")
+                .email("employee2@gmail.com")
+                .build();
+        List<Employee> employees = List.of(employee1, employee2);
+        given(employeeService.saveAll(anyList()))
+                .willAnswer((invocation) -> invocation.getArgument(0));
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(employees)));
+        // then
+        response.andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.size()", is(employees.size())))
+                .andExpect(jsonPath("$[1].email", is(employee2.getEmail())));
+    }
+
     @Test
     @DisplayName("JUnit test for get all employees operation in controller layer")
     void givenListOfEmployees_whenGetAllEmployees_thenReturnEmployeeList() throws Exception {
@@ -72,13 +118,193 @@ class EmployeeControllerTest {
                 .email("employee2@gmail.com")
                 .build();
         List<Employee> employees = List.of(employee1, employee2);
-        given(employeeService.getAllEmployees()).willReturn(employees);
+        given(employeeService.getEmployeesAfter(0L, EmployeeController.DEFAULT_PAGE_SIZE)).willReturn(employees);
         // when - action or the behaviour that we are going the
         ResultActions response = mockMvc.perform(get("/api/employees"));
         // then
         response.andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.size()", is(employees.size())));
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    @DisplayName("JUnit test for search employees operation in controller layer")
+    void givenQuery_whenSearchEmployees_thenReturnRankedEmployees() throws Exception {
+        //given -  precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("employee")
+                .lastName("employee")
+                .email("employee@gmail.com")
+                .build();
+        given(employeeService.searchEmployees("empl", EmployeeController.DEFAULT_SEARCH_SIZE)).willReturn(List.of(employee));
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(get("/api/employees/search")
+                .param("q", "empl"));
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].email", is(employee.getEmail())));
+    }
+
+    @Test
+    @DisplayName("JUnit test for get employees filtered and sorted operation in controller layer")
+    void givenFilterAndSort_whenGetAllEmployees_thenReturnFilteredEmployees() throws Exception {
+        //given -  precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("employee")
+                .lastName("employee")
+                .email("employee@gmail.com")
+                .build();
+        given(employeeService.findEmployees(
+                new EmployeeFilter("gmail.com", "emp", null),
+                Sort.by(Sort.Direction.DESC, "lastName"),
+                EmployeeController.DEFAULT_PAGE_SIZE))
+                .willReturn(List.of(employee));
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("emailDomain", "gmail.com")
+                .param("namePrefix", "emp")
+                .param("sort", "lastName,desc"));
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].email", is(employee.getEmail())));
+    }
+
+    @Test
+    @DisplayName("JUnit test for get employees projection operation in controller layer")
+    void givenFields_whenGetAllEmployees_thenReturnOnlyRequestedFields() throws Exception {
+        //given -  precondition or setup
+        given(employeeService.findEmployeeFields(
+                new EmployeeFilter(null, null, null),
+                Sort.unsorted(),
+                10,
+                List.of("id", "email")))
+                .willReturn(List.of(Map.of("id", 1L, "email", "employee@gmail.com")));
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("fields", "id,email")
+                .param("limit", "10"));
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].email", is("employee@gmail.com")))
+                .andExpect(jsonPath("$[0].firstName").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("JUnit test for get employees projection with an unknown field in controller layer")
+    void givenUnknownField_whenGetAllEmployees_thenReturn400Status() throws Exception {
+        //given -  precondition or setup
+        given(employeeService.findEmployeeFields(any(EmployeeFilter.class), any(Sort.class), eq(EmployeeController.DEFAULT_PAGE_SIZE), anyList()))
+                .willThrow(new InvalidEmployeeQueryException("Unknown employee field: salary"));
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("fields", "salary"));
+        // then
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("JUnit test for get employees page after a cursor operation in controller layer")
+    void givenCursorAndLimit_whenGetAllEmployees_thenReturnEmployeePage() throws Exception {
+        //given -  precondition or setup
+        Employee employee = Employee.builder()
+                .id(11L)
+                .firstName("employee")
+                .lastName("employee")
+                .email("employee@gmail.com")
+                .build();
+        given(employeeService.getEmployeesAfter(10L, 5)).willReturn(List.of(employee));
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("after", "10")
+                .param("limit", "5"));
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(11)));
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    @DisplayName("JUnit test for get employees page with a limit above the maximum in controller layer")
+    void givenLimitAboveMaximum_whenGetAllEmployees_thenLimitIsCapped() throws Exception {
+        //given -  precondition or setup
+        given(employeeService.getEmployeesAfter(0L, EmployeeController.MAX_PAGE_SIZE)).willReturn(List.of());
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("limit", "1000000"));
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(0)));
+    }
+
+    @Test
+    @DisplayName("JUnit test for stream all employees as ndjson operation in controller layer")
+    void givenListOfEmployees_whenStreamAllEmployees_thenReturnNdjson() throws Exception {
+        //given -  precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(1L)
+                .firstName("employee1")
+                .lastName("employee1")
+                .email("employee1@gmail.com")
+                .build();
+        Employee employee2 = Employee.builder()
+                .id(2L)
+                .firstName("employee2")
+                .lastName("employee2")
+                .email("employee2@gmail.com")
+                .build();
+        willAnswer(invocation -> {
+            Consumer<Employee> action = invocation.getArgument(0);
+            List.of(employee1, employee2).forEach(action);
+            return null;
+        }).given(employeeService).streamAllEmployees(any());
+        // when - action or the behaviour that we are going the
+        MvcResult result = mockMvc.perform(get("/api/employees/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        mapper.writeValueAsString(employee1) + "\n" + mapper.writeValueAsString(employee2) + "\n"));
+    }
+
+    @Test
+    @DisplayName("JUnit test for find employees by name operation in controller layer")
+    void givenFirstNameAndLastName_whenFindEmployeesByName_thenReturnEmployeeList() throws Exception {
+        //given -  precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("employee")
+                .lastName("employee")
+                .email("employee1@gmail.com")
+                .build();
+        Employee employee2 = Employee.builder()
+                .firstName("employee")
+                .lastName("employee")
+                .email("employee2@gmail.com")
+                .build();
+        given(employeeService.findByName("employee", "employee")).willReturn(List.of(employee1, employee2));
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(get("/api/employees/by-name")
+                .param("firstName", "employee")
+                .param("lastName", "employee"));
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(2)));
     }
 
     @Test
@@ -100,6 +326,50 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.firstName", is(employee.getFirstName())));
     }
 
+    @Test
+    @DisplayName("JUnit test for get employee by id operation returning its ETag in controller layer")
+    void givenEmployeeId_whenFindEmployeeById_thenReturnETag() throws Exception {
+        //given -  precondition or setup
+        Long employeeId = 1L;
+        Employee employee = Employee.builder()
+                .id(employeeId)
+                .firstName("employee")
+                .lastName("employee")
+                .email("employee@gmail.com")
+                .version(3L)
+                .build();
+        given(employeeService.findById(employeeId)).willReturn(Optional.of(employee));
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(get("/api/employees/{employeeId}", employeeId));
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.version", is(3)));
+    }
+
+    @Test
+    @DisplayName("JUnit test for get employee by id operation with a matching If-None-Match in controller layer")
+    void givenMatchingIfNoneMatch_whenFindEmployeeById_thenReturn304Status() throws Exception {
+        //given -  precondition or setup
+        Long employeeId = 1L;
+        Employee employee = Employee.builder()
+                .id(employeeId)
+                .firstName("employee")
+                .lastName("employee")
+                .email("employee@gmail.com")
+                .version(3L)
+                .build();
+        given(employeeService.findById(employeeId)).willReturn(Optional.of(employee));
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(get("/api/employees/{employeeId}", employeeId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+        // then
+        response.andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("JUnit test for get employee by id operation and throw exception in controller layer")
     void givenEmployeeId_whenFindEmployeeById_thenReturn404Status() throws Exception {
@@ -128,9 +398,8 @@ class EmployeeControllerTest {
                 .lastName("employee2")
                 .email("employee2@gmail.com")
                 .build();
-        given(employeeService.findById(employeeId)).willReturn(Optional.of(savedEmployee));
-        given(employeeService.updateEmployee(any(Employee.class)))
-                .willAnswer((invocation) -> invocation.getArgument(0));
+        given(employeeService.updateEmployee(eq(employeeId), any(Employee.class), isNull()))
+                .willAnswer((invocation) -> Optional.of(invocation.<Employee>getArgument(1)));
         // when - action or the behaviour that we are going the
         ResultActions response = mockMvc.perform(put("/api/employees/{employeeId}",employeeId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -151,9 +420,8 @@ class EmployeeControllerTest {
                 .lastName("employee2")
                 .email("employee2@gmail.com")
                 .build();
-        given(employeeService.findById(employeeId)).willReturn(Optional.empty());
-        given(employeeService.updateEmployee(any(Employee.class)))
-                .willAnswer((invocation) -> invocation.getArgument(0));
+        given(employeeService.updateEmployee(eq(employeeId), any(Employee.class), isNull()))
+                .willReturn(Optional.empty());
         // when - action or the behaviour that we are going the
         ResultActions response = mockMvc.perform(put("/api/employees/{employeeId}",employeeId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -163,17 +431,193 @@ class EmployeeControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("JUnit test for error metrics of update employee operation in controller layer")
+    void givenStaleIfMatch_whenUpdateEmployee_thenCountErrorByExceptionType() throws Exception {
+        //given -  precondition or setup
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        Long employeeId = 1L;
+        Employee updatedEmployee = Employee.builder()
+                .firstName("employee2")
+                .lastName("employee2")
+                .email("employee2@gmail.com")
+                .build();
+        given(employeeService.updateEmployee(eq(employeeId), any(Employee.class), eq(2L)))
+                .willThrow(new OptimisticLockingFailureException("Employee was modified concurrently, id: 1"));
+        try {
+            // when - action or the behaviour that we are going the
+            mockMvc.perform(put("/api/employees/{employeeId}", employeeId)
+                    .header(HttpHeaders.IF_MATCH, "\"2\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(mapper.writeValueAsString(updatedEmployee)));
+            // then
+            assertThat(registry.get(GlobalHandlerExceptions.ERRORS_METRIC)
+                    .tag("exception", "OptimisticLockingFailureException")
+                    .tag("status", "412")
+                    .counter()
+                    .count()).isEqualTo(1.0);
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee operation with a stale If-Match in controller layer")
+    void givenStaleIfMatch_whenUpdateEmployee_thenReturn412Status() throws Exception {
+        //given -  precondition or setup
+        Long employeeId = 1L;
+        Employee updatedEmployee = Employee.builder()
+                .firstName("employee2")
+                .lastName("employee2")
+                .email("employee2@gmail.com")
+                .build();
+        given(employeeService.updateEmployee(eq(employeeId), any(Employee.class), eq(2L)))
+                .willThrow(new OptimisticLockingFailureException("Employee was modified concurrently, id: 1"));
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(put("/api/employees/{employeeId}", employeeId)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(updatedEmployee)));
+        // then
+        response.andDo(print())
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("JUnit test for delete employee operation with a stale If-Match in controller layer")
+    void givenStaleIfMatch_whenDeleteEmployee_thenReturn412Status() throws Exception {
+        //given -  precondition or setup
+        Long employeeId = 1L;
+        given(employeeService.deleteEmployee(employeeId, 2L))
+                .willThrow(new OptimisticLockingFailureException("Employee was modified concurrently, id: 1"));
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(delete("/api/employees/{employeeId}", employeeId)
+                .header(HttpHeaders.IF_MATCH, "\"2\""));
+        // then
+        response.andDo(print())
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @DisplayName("JUnit test for get employee by id operation in controller layer")
     void givenEmployeeObject_whenDeleteEmployee_thenReturn200Status() throws Exception {
         //given -  precondition or setup
         Long employeeId =1L;
-        willDoNothing().given(employeeService).deleteEmployee(employeeId);
+        given(employeeService.deleteEmployee(employeeId, null)).willReturn(true);
         // when - action or the behaviour that we are going the
         ResultActions response = mockMvc.perform(delete("/api/employees/{employeeId}",employeeId));
         // then
         response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().string("Deleted"));
+        verify(employeeService, times(1)).deleteEmployee(employeeId, null);
+    }
+
+    @Test
+    @DisplayName("JUnit test for delete employee not found operation in controller layer")
+    void givenMissingEmployeeId_whenDeleteEmployee_thenReturn404Status() throws Exception {
+        //given -  precondition or setup
+        Long employeeId =1L;
+        given(employeeService.deleteEmployee(employeeId, null)).willReturn(false);
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(delete("/api/employees/{employeeId}",employeeId));
+        // then
+        response.andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("JUnit test for get employees by ids operation in controller layer")
+    void givenEmployeeIds_whenFindEmployeesByIds_thenReturnEmployeesAndMissingIds() throws Exception {
+        //given -  precondition or setup
+        Employee employee = Employee.builder().id(2L).firstName("pbl").lastName("gllgs").email("pbl@gmail.com").build();
+        given(employeeService.findAllById(List.of(2L, 7L))).willReturn(new EmployeeLookup(List.of(employee), List.of(7L)));
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(get("/api/employees").param("ids", "2,7"));
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees.size()", is(1)))
+                .andExpect(jsonPath("$.employees[0].email", is(employee.getEmail())))
+                .andExpect(jsonPath("$.missingIds[0]", is(7)));
+    }
+
+    @Test
+    @DisplayName("JUnit test for post employees by ids operation in controller layer")
+    void givenEmployeeIdsInBody_whenFindEmployeesByIds_thenReturnEmployees() throws Exception {
+        //given -  precondition or setup
+        given(employeeService.findAllById(List.of(1L, 2L))).willReturn(new EmployeeLookup(List.of(), List.of(1L, 2L)));
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(post("/api/employees/by-ids")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1,2]"));
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.missingIds.size()", is(2)));
+    }
+
+    @Test
+    @DisplayName("JUnit test for get too many employees by ids operation in controller layer")
+    void givenTooManyEmployeeIds_whenFindEmployeesByIds_thenReturn400Status() throws Exception {
+        //given -  precondition or setup
+        String ids = LongStream.rangeClosed(1, EmployeeController.MAX_PAGE_SIZE + 1)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(post("/api/employees/by-ids")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + ids + "]"));
+        // then
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    @DisplayName("JUnit test for delete employees by ids operation in controller layer")
+    void givenEmployeeIds_whenDeleteEmployees_thenReturn200Status() throws Exception {
+        //given -  precondition or setup
+        given(employeeService.deleteEmployees(List.of(1L, 2L, 3L))).willReturn(3);
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(delete("/api/employees").param("ids", "1,2,3"));
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().string("Deleted: 3"));
+    }
+
+    @Test
+    @DisplayName("JUnit test for delete employee over the write budget operation in controller layer")
+    void givenWriteBudgetUsedUp_whenDeleteEmployee_thenReturn429Status() throws Exception {
+        //given -  precondition or setup
+        Long employeeId =1L;
+        given(employeeService.deleteEmployee(employeeId, null)).willReturn(true);
+        // when - action or the behaviour that we are going the
+        // the bucket refills while the loop runs, so keep writing until it is empty; the client id header
+        // is not trusted by default, a new id on every request still draws from the address's budget
+        int accepted = -1;
+        ResultActions response;
+        do {
+            accepted++;
+            response = mockMvc.perform(delete("/api/employees/{employeeId}", employeeId).with(remoteAddress("10.0.0.1"))
+                    .header("X-Client-Id", "client-" + accepted));
+        } while (response.andReturn().getResponse().getStatus() == 200 && accepted < 1000);
+        // then
+        response.andDo(print())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status", is("TOO_MANY_REQUESTS")));
+        assertThat(accepted).isGreaterThanOrEqualTo(50);
+        mockMvc.perform(delete("/api/employees/{employeeId}", employeeId).with(remoteAddress("10.0.0.2")))
                 .andExpect(status().isOk());
     }
 
-}
\ No newline at end of file
+    private static RequestPostProcessor remoteAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
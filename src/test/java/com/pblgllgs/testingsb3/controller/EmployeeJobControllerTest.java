@@ -0,0 +1,96 @@
+package com.pblgllgs.testingsb3.controller;
+
+import com.pblgllgs.testingsb3.model.EmployeeJob;
+import com.pblgllgs.testingsb3.service.EmployeeJobService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EmployeeJobController.class)
+class EmployeeJobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private EmployeeJobService employeeJobService;
+
+    @Test
+    @DisplayName("JUnit test for import employees operation in controller layer")
+    void givenCsvFile_whenImportEmployees_thenReturn202Status() throws Exception {
+        //given -  precondition or setup
+        EmployeeJob job = new EmployeeJob(EmployeeJob.Type.IMPORT, EmployeeJob.Format.CSV);
+        given(employeeJobService.startImport(eq(EmployeeJob.Format.CSV), any(InputStream.class))).willReturn(job);
+        MockMultipartFile file = new MockMultipartFile("file", "employees.csv", "text/csv",
+                "employee@gmail.com,employee,employee\n".getBytes());
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(multipart("/api/employees/jobs/import").file(file));
+        // then
+        response.andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", endsWith("/api/employees/jobs/" + job.getId())))
+                .andExpect(jsonPath("$.status", is("PENDING")));
+    }
+
+    @Test
+    @DisplayName("JUnit test for export employees with a full queue operation in controller layer")
+    void givenFullQueue_whenExportEmployees_thenReturn503Status() throws Exception {
+        //given -  precondition or setup
+        given(employeeJobService.startExport(EmployeeJob.Format.NDJSON))
+                .willThrow(new RejectedExecutionException("Too many employee jobs in progress, retry later"));
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(post("/api/employees/jobs/export"));
+        // then
+        response.andDo(print())
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @DisplayName("JUnit test for find job operation in controller layer")
+    void givenJobId_whenFindJob_thenReturnProgress() throws Exception {
+        //given -  precondition or setup
+        EmployeeJob job = new EmployeeJob(EmployeeJob.Type.EXPORT, EmployeeJob.Format.NDJSON);
+        job.start(10L);
+        job.addProcessed(4);
+        given(employeeJobService.findJob(job.getId())).willReturn(Optional.of(job));
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(get("/api/employees/jobs/{jobId}", job.getId()));
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("RUNNING")))
+                .andExpect(jsonPath("$.total", is(10)))
+                .andExpect(jsonPath("$.processed", is(4)));
+    }
+
+    @Test
+    @DisplayName("JUnit test for download export of an unfinished job operation in controller layer")
+    void givenRunningJob_whenDownloadExport_thenReturn404Status() throws Exception {
+        //given -  precondition or setup
+        EmployeeJob job = new EmployeeJob(EmployeeJob.Type.EXPORT, EmployeeJob.Format.NDJSON);
+        job.start(10L);
+        given(employeeJobService.findJob(job.getId())).willReturn(Optional.of(job));
+        // when - action or the behaviour that we are going the
+        ResultActions response = mockMvc.perform(get("/api/employees/jobs/{jobId}/file", job.getId()));
+        // then
+        response.andDo(print())
+                .andExpect(status().isNotFound());
+    }
+}
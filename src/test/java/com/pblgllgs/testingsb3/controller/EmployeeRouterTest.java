@@ -0,0 +1,236 @@
+package com.pblgllgs.testingsb3.controller;
+
+import com.pblgllgs.testingsb3.exception.SearchIndexLoadingException;
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.model.EmployeeLookup;
+import com.pblgllgs.testingsb3.service.ReactiveEmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeRouterTest {
+
+    @Mock
+    private ReactiveEmployeeService employeeService;
+
+    private WebTestClient webTestClient;
+    private Employee employee;
+
+    @BeforeEach
+    void setup() {
+        webTestClient = WebTestClient
+                .bindToRouterFunction(new EmployeeRouter().employeeRoutes(new EmployeeHandler(employeeService)))
+                .build();
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("employee")
+                .lastName("employee")
+                .email("employee@gmail.com")
+                .version(3L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("JUnit test for create employee operation in reactive router")
+    void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() {
+        //given -  precondition or setup
+        given(employeeService.saveEmployee(any(Employee.class)))
+                .willAnswer((invocation) -> Mono.just(invocation.getArgument(0)));
+        // when - action or the behaviour that we are going the
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+        // then
+        response.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    @Test
+    @DisplayName("JUnit test for get employee by id operation in reactive router")
+    void givenEmployeeId_whenFindEmployeeById_thenReturnEmployeeWithETag() {
+        //given -  precondition or setup
+        given(employeeService.findById(1L)).willReturn(Mono.just(employee));
+        // when - action or the behaviour that we are going the
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{employeeId}", 1L).exchange();
+        // then
+        response.expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(employee.getFirstName());
+    }
+
+    @Test
+    @DisplayName("JUnit test for get employee by id operation with a matching If-None-Match in reactive router")
+    void givenMatchingIfNoneMatch_whenFindEmployeeById_thenReturn304Status() {
+        //given -  precondition or setup
+        given(employeeService.findById(1L)).willReturn(Mono.just(employee));
+        // when - action or the behaviour that we are going the
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{employeeId}", 1L)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .exchange();
+        // then
+        response.expectStatus().isNotModified();
+    }
+
+    @Test
+    @DisplayName("JUnit test for get employee by id operation and return 404 in reactive router")
+    void givenMissingEmployeeId_whenFindEmployeeById_thenReturn404Status() {
+        //given -  precondition or setup
+        given(employeeService.findById(1L)).willReturn(Mono.empty());
+        // when - action or the behaviour that we are going the
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{employeeId}", 1L).exchange();
+        // then
+        response.expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee operation with a stale If-Match in reactive router")
+    void givenStaleIfMatch_whenUpdateEmployee_thenReturn412Status() {
+        //given -  precondition or setup
+        given(employeeService.updateEmployee(eq(1L), any(Employee.class), eq(2L)))
+                .willReturn(Mono.error(new OptimisticLockingFailureException("Employee was modified concurrently, id: 1")));
+        // when - action or the behaviour that we are going the
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/employees/{employeeId}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+        // then
+        response.expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    @DisplayName("JUnit test for get all employees operation in reactive router")
+    void givenNoParameters_whenGetAllEmployees_thenReturnFirstPage() {
+        //given -  precondition or setup
+        given(employeeService.getEmployeesAfter(0L, EmployeeController.DEFAULT_PAGE_SIZE)).willReturn(Flux.just(employee));
+        // when - action or the behaviour that we are going the
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees").exchange();
+        // then
+        response.expectStatus().isOk()
+                .expectBodyList(Employee.class).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("JUnit test for find employee by malformed id operation in reactive router")
+    void givenMalformedEmployeeId_whenFindEmployeeById_thenReturn400Status() {
+        //given -  precondition or setup
+        // when - action or the behaviour that we are going the
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{employeeId}", "abc").exchange();
+        // then
+        response.expectStatus().isBadRequest();
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    @DisplayName("JUnit test for delete employees by malformed ids operation in reactive router")
+    void givenMalformedIds_whenDeleteEmployees_thenReturn400Status() {
+        //given -  precondition or setup
+        // when - action or the behaviour that we are going the
+        WebTestClient.ResponseSpec response = webTestClient.delete().uri("/api/employees?ids=1,abc").exchange();
+        // then
+        response.expectStatus().isBadRequest();
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    @DisplayName("JUnit test for get all employees with a filter operation in reactive router")
+    void givenUnsupportedFilter_whenGetAllEmployees_thenReturn400Status() {
+        //given -  precondition or setup
+        // when - action or the behaviour that we are going the
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees?sort=lastName&after=10").exchange();
+        // then
+        response.expectStatus().isBadRequest();
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    @DisplayName("JUnit test for get employees by ids operation in reactive router")
+    void givenEmployeeIds_whenFindEmployeesByIds_thenReturnLookup() {
+        //given -  precondition or setup
+        given(employeeService.findAllById(List.of(1L, 7L)))
+                .willReturn(Mono.just(new EmployeeLookup(List.of(employee), List.of(7L))));
+        // when - action or the behaviour that we are going the
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees?ids=1,7").exchange();
+        // then
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.employees[0].id").isEqualTo(1)
+                .jsonPath("$.missingIds[0]").isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("JUnit test for post employees by ids operation in reactive router")
+    void givenEmployeeIdsInBody_whenFindEmployeesByIds_thenReturnLookup() {
+        //given -  precondition or setup
+        given(employeeService.findAllById(List.of(1L)))
+                .willReturn(Mono.just(new EmployeeLookup(List.of(employee), List.of())));
+        // when - action or the behaviour that we are going the
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees/by-ids")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(1L))
+                .exchange();
+        // then
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.employees[0].id").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("JUnit test for search employees operation in reactive router")
+    void givenQuery_whenSearchEmployees_thenReturnRankedEmployees() {
+        //given -  precondition or setup
+        given(employeeService.searchEmployees("emp", EmployeeController.DEFAULT_SEARCH_SIZE)).willReturn(Flux.just(employee));
+        // when - action or the behaviour that we are going the
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/search?q=emp").exchange();
+        // then
+        response.expectStatus().isOk()
+                .expectBodyList(Employee.class).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("JUnit test for search employees while the index loads operation in reactive router")
+    void givenIndexLoading_whenSearchEmployees_thenReturn503() {
+        //given -  precondition or setup
+        given(employeeService.searchEmployees("emp", EmployeeController.DEFAULT_SEARCH_SIZE))
+                .willReturn(Flux.error(new SearchIndexLoadingException("Search index is loading, retry later")));
+        // when - action or the behaviour that we are going the
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/search?q=emp").exchange();
+        // then
+        response.expectStatus().isEqualTo(503);
+    }
+
+    @Test
+    @DisplayName("JUnit test for stream all employees as ndjson operation in reactive router")
+    void givenEmployees_whenStreamAllEmployees_thenReturnNdjson() {
+        //given -  precondition or setup
+        given(employeeService.getAllEmployees()).willReturn(Flux.just(employee, employee));
+        // when - action or the behaviour that we are going the
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange();
+        // then
+        response.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Employee.class).hasSize(2);
+    }
+}
@@ -0,0 +1,129 @@
+package com.pblgllgs.testingsb3.integration;
+
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.repository.EmployeeJdbcRepository;
+import com.pblgllgs.testingsb3.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the employee endpoints with many concurrent clients and logs throughput and latency percentiles.
+ * Compare the request execution modes by running it once per mode:
+ * <pre>
+ * mvn test -Dtest=EmployeeControllerLoadIT
+ * mvn test -Pjava21 -Dtest=EmployeeControllerLoadIT -Dspring.profiles.active=virtual-threads
+ * </pre>
+ * Rate and concurrency limits are off, every client shares the localhost address and would be throttled.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "employee.rate-limit.enabled=false")
+class EmployeeControllerLoadIT extends AbstractionContainerBaseTest {
+
+    private static final int EMPLOYEES = 1_000;
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 50;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeJdbcRepository employeeJdbcRepository;
+    @Autowired
+    private Environment environment;
+
+    private List<Long> employeeIds;
+
+    @BeforeEach
+    void setup() {
+        employeeRepository.deleteAll();
+        employeeIds = employeeJdbcRepository.insertAll(IntStream.range(0, EMPLOYEES)
+                        .mapToObj(i -> Employee.builder()
+                                .firstName("first" + i)
+                                .lastName("last" + i)
+                                .email("employee" + i + "@gmail.com")
+                                .build())
+                        .toList())
+                .stream()
+                .map(Employee::getId)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Load test for find employee by id and list page operations")
+    void givenConcurrentClients_whenCallingEmployeeEndpoints_thenLogThroughputAndLatency() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long begin = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(nextRequest(i), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[next.getAndIncrement()] = System.nanoTime() - begin;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        log.info("profiles={} requests={} errors={} throughput={} req/s p50={} ms p99={} ms max={} ms",
+                Arrays.toString(environment.getActiveProfiles()),
+                latencies.length,
+                errors.get(),
+                Math.round(latencies.length / (elapsed / 1_000_000_000.0)),
+                latencies[latencies.length / 2] / 1_000_000.0,
+                latencies[(int) (latencies.length * 0.99)] / 1_000_000.0,
+                latencies[latencies.length - 1] / 1_000_000.0);
+        assertThat(errors.get()).isZero();
+    }
+
+    private HttpRequest nextRequest(int i) {
+        String path = i % 5 == 0
+                ? "/api/employees?limit=50&after=" + employeeIds.get(ThreadLocalRandom.current().nextInt(EMPLOYEES))
+                : "/api/employees/" + employeeIds.get(ThreadLocalRandom.current().nextInt(EMPLOYEES));
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+    }
+}
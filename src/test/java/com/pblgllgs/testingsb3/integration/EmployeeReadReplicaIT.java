@@ -0,0 +1,97 @@
+package com.pblgllgs.testingsb3.integration;
+
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.repository.EmployeeRepository;
+import com.pblgllgs.testingsb3.service.EmployeeService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The replica container is not replicating from the primary, so each side holds different rows
+ * and the result of a read shows which database served it.
+ */
+@SpringBootTest
+class EmployeeReadReplicaIT extends AbstractionContainerBaseTest {
+
+    static final MySQLContainer REPLICA_CONTAINER;
+
+    static {
+        REPLICA_CONTAINER = new MySQLContainer("mysql:8.0.32")
+                .withUsername("username")
+                .withPassword("password")
+                .withDatabaseName("db_test");
+        REPLICA_CONTAINER.start();
+        Flyway.configure()
+                .dataSource(REPLICA_CONTAINER.getJdbcUrl(), REPLICA_CONTAINER.getUsername(), REPLICA_CONTAINER.getPassword())
+                .load()
+                .migrate();
+    }
+
+    @DynamicPropertySource
+    public static void replicaPropertySource(DynamicPropertyRegistry registry) {
+        registry.add("employee.datasource.replica-urls", REPLICA_CONTAINER::getJdbcUrl);
+    }
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private JdbcTemplate replicaJdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        employeeRepository.deleteAll();
+        replicaJdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                REPLICA_CONTAINER.getJdbcUrl(), REPLICA_CONTAINER.getUsername(), REPLICA_CONTAINER.getPassword()));
+        replicaJdbcTemplate.update("DELETE FROM employees");
+        replicaJdbcTemplate.update(
+                "INSERT INTO employees (first_name, last_name, email) VALUES ('replica', 'replica', 'replica@gmail.com')");
+    }
+
+    @Test
+    @DisplayName("JUnit test for read-only operations routed to the replica")
+    void givenReplica_whenGetAllEmployees_thenReadFromReplica() {
+        //given -  precondition or setup
+        employeeService.saveEmployee(Employee.builder()
+                .firstName("primary")
+                .lastName("primary")
+                .email("primary@gmail.com")
+                .build());
+        // when - action or the behaviour that we are going the
+        List<Employee> employees = employeeService.getAllEmployees();
+        List<Employee> byName = employeeService.findByName("replica", "replica");
+        // then
+        assertThat(employees).extracting(Employee::getEmail).containsExactly("replica@gmail.com");
+        assertThat(byName).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("JUnit test for write operations routed to the primary")
+    void givenReplica_whenSaveEmployee_thenWriteToPrimary() {
+        //given -  precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("primary")
+                .lastName("primary")
+                .email("primary@gmail.com")
+                .build();
+        // when - action or the behaviour that we are going the
+        employeeService.saveEmployee(employee);
+        // then
+        assertThat(employeeRepository.findEmployeeByEmail("primary@gmail.com")).isPresent();
+        assertThat(replicaJdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees", Integer.class)).isEqualTo(1);
+    }
+}
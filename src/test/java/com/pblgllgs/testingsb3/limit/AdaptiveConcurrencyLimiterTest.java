@@ -0,0 +1,69 @@
+package com.pblgllgs.testingsb3.limit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long THRESHOLD = 100;
+
+    private final AtomicLong clock = new AtomicLong();
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @BeforeEach
+    void setup() {
+        concurrencyLimiter = new AdaptiveConcurrencyLimiter(4, 2, 8, THRESHOLD, 0.5, clock::get);
+    }
+
+    @Test
+    @DisplayName("JUnit test for try acquire at the limit")
+    void givenLimitReached_whenTryAcquire_thenReturnFalse() {
+        //given -  precondition or setup
+        for (int i = 0; i < 4; i++) {
+            assertThat(concurrencyLimiter.tryAcquire()).isTrue();
+        }
+        // when - action or the behaviour that we are going the
+        boolean acquired = concurrencyLimiter.tryAcquire();
+        // then
+        assertThat(acquired).isFalse();
+        assertThat(concurrencyLimiter.getInFlight()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("JUnit test for release of slow requests")
+    void givenSlowRequests_whenRelease_thenShrinkLimitOncePerPeriod() {
+        //given -  precondition or setup
+        concurrencyLimiter.tryAcquire();
+        concurrencyLimiter.tryAcquire();
+        concurrencyLimiter.tryAcquire();
+        // when - action or the behaviour that we are going the
+        concurrencyLimiter.release(THRESHOLD + 1);
+        concurrencyLimiter.release(THRESHOLD + 1);
+        clock.addAndGet(THRESHOLD);
+        concurrencyLimiter.release(THRESHOLD + 1);
+        // then
+        assertThat(concurrencyLimiter.getLimit()).isEqualTo(2);
+        assertThat(concurrencyLimiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("JUnit test for release of fast requests")
+    void givenFastRequests_whenRelease_thenGrowLimitOnlyWhenUsed() {
+        //given -  precondition or setup
+        concurrencyLimiter.tryAcquire();
+        concurrencyLimiter.release(1);
+        int idleLimit = concurrencyLimiter.getLimit();
+        // when - action or the behaviour that we are going the
+        concurrencyLimiter.tryAcquire();
+        concurrencyLimiter.tryAcquire();
+        concurrencyLimiter.release(1);
+        // then
+        assertThat(idleLimit).isEqualTo(4);
+        assertThat(concurrencyLimiter.getLimit()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,80 @@
+package com.pblgllgs.testingsb3.limit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setup() {
+        rateLimiter = new TokenBucketRateLimiter(2, 10, 3, clock::get);
+    }
+
+    @Test
+    @DisplayName("JUnit test for try acquire over the capacity")
+    void givenEmptyBucket_whenTryAcquire_thenReturnWaitTime() {
+        //given -  precondition or setup
+        rateLimiter.tryAcquire("client");
+        rateLimiter.tryAcquire("client");
+        // when - action or the behaviour that we are going the
+        long waitNanos = rateLimiter.tryAcquire("client");
+        // then
+        assertThat(waitNanos).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(rateLimiter.tryAcquire("other")).isZero();
+    }
+
+    @Test
+    @DisplayName("JUnit test for try acquire after the bucket refilled")
+    void givenElapsedTime_whenTryAcquire_thenReturnZero() {
+        //given -  precondition or setup
+        rateLimiter.tryAcquire("client");
+        rateLimiter.tryAcquire("client");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        // when - action or the behaviour that we are going the
+        long waitNanos = rateLimiter.tryAcquire("client");
+        // then
+        assertThat(waitNanos).isZero();
+        assertThat(rateLimiter.tryAcquire("client")).isPositive();
+    }
+
+    @Test
+    @DisplayName("JUnit test for evict idle buckets")
+    void givenFullBucket_whenEvictIdle_thenRemoveIt() {
+        //given -  precondition or setup
+        rateLimiter.tryAcquire("idle");
+        rateLimiter.tryAcquire("busy");
+        rateLimiter.tryAcquire("busy");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        // when - action or the behaviour that we are going the
+        rateLimiter.evictIdle();
+        // then
+        assertThat(rateLimiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("JUnit test for try acquire with more clients than the maximum")
+    void givenMaxClients_whenTryAcquireForNewClients_thenShareOverflowBucket() {
+        //given -  precondition or setup
+        rateLimiter.tryAcquire("client1");
+        rateLimiter.tryAcquire("client2");
+        // when - action or the behaviour that we are going the
+        rateLimiter.tryAcquire("client3");
+        rateLimiter.tryAcquire("rotated1");
+        rateLimiter.tryAcquire("rotated2");
+        long waitNanos = rateLimiter.tryAcquire("rotated3");
+        // then
+        assertThat(waitNanos).isPositive();
+        // three clients and the overflow bucket
+        assertThat(rateLimiter.size()).isEqualTo(4);
+        assertThat(rateLimiter.tryAcquire("client1")).isZero();
+    }
+}
@@ -1,13 +1,20 @@
 package com.pblgllgs.testingsb3.repository;
 
+import com.pblgllgs.testingsb3.config.SecondLevelCacheConfig;
 import com.pblgllgs.testingsb3.integration.AbstractionContainerBaseTest;
 import com.pblgllgs.testingsb3.model.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -15,10 +22,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
 class EmployeeRepositoryIT extends AbstractionContainerBaseTest {
 
     @Autowired
     private EmployeeRepository employeeRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
     private Employee employee;
 
@@ -160,4 +170,42 @@ class EmployeeRepositoryIT extends AbstractionContainerBaseTest {
         assertThat(employeeDB.getFirstName()).isEqualTo("pbl");
         assertThat(employeeDB.getLastName()).isEqualTo("gllgs");
     }
-}
\ No newline at end of file
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("JUnit test for find employee by email operation served from the query cache")
+    void givenCommittedEmployee_whenFindEmployeeByEmailTwice_thenSecondLookupHitsCache() {
+        Employee savedEmployee = employeeRepository.save(employee);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        try {
+            employeeRepository.findEmployeeByEmail(employee.getEmail());
+            long queryCacheHits = statistics.getQueryCacheHitCount();
+            long secondLevelCacheHits = statistics.getSecondLevelCacheHitCount();
+
+            Employee employeeDB = employeeRepository.findEmployeeByEmail(employee.getEmail()).orElseThrow();
+
+            assertThat(employeeDB.getId()).isEqualTo(savedEmployee.getId());
+            assertThat(statistics.getQueryCacheHitCount()).isEqualTo(queryCacheHits + 1);
+            assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(secondLevelCacheHits);
+        } finally {
+            employeeRepository.deleteById(savedEmployee.getId());
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("JUnit test for find all employees operation bypassing the second-level cache")
+    void givenCommittedEmployee_whenFindAll_thenEmployeeIsNotCached() {
+        Employee savedEmployee = employeeRepository.save(employee);
+        try {
+            entityManagerFactory.getCache().evict(Employee.class, savedEmployee.getId());
+
+            List<Employee> employees = employeeRepository.findAll();
+
+            assertThat(employees).extracting(Employee::getId).contains(savedEmployee.getId());
+            assertThat(entityManagerFactory.getCache().contains(Employee.class, savedEmployee.getId())).isFalse();
+        } finally {
+            employeeRepository.deleteById(savedEmployee.getId());
+        }
+    }
+}
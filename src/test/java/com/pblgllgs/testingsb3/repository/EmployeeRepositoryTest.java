@@ -1,15 +1,21 @@
 package com.pblgllgs.testingsb3.repository;
 
 import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.model.EmployeeFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 class EmployeeRepositoryTest {
@@ -39,6 +45,19 @@ class EmployeeRepositoryTest {
         assertThat(savedEmployee.getEmail()).isEqualTo("pbl.gllgs@gmail.com");
     }
 
+    @Test
+    @DisplayName("JUnit test for save employee with an existing email operation")
+    void givenExistingEmail_whenSave_thenThrowsDataIntegrityViolation() {
+        employeeRepository.save(employee);
+        Employee copy = Employee.builder()
+                .firstName("copy")
+                .lastName("copy")
+                .email(employee.getEmail())
+                .build();
+        assertThatThrownBy(() -> employeeRepository.save(copy))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
     @Test
     @DisplayName("JUnit test for find all employees operation")
     void givenEmployeesList_whenFindAll_thenReturnEmployeeList() {
@@ -55,6 +74,67 @@ class EmployeeRepositoryTest {
         assertThat(employees).isNotEmpty().hasSize(2);
     }
 
+    @Test
+    @DisplayName("JUnit test for find employees after a cursor operation")
+    void givenEmployeesList_whenFindEmployeesAfter_thenReturnNextPage() {
+        employeeRepository.save(employee);
+        Employee admin = Employee.builder()
+                .firstName("admin")
+                .lastName("admin")
+                .email("admin@gmail.com")
+                .build();
+        employeeRepository.save(admin);
+
+        List<Employee> employees = employeeRepository.findEmployeesAfter(employee.getId(), PageRequest.ofSize(10));
+
+        assertThat(employees).hasSize(1);
+        assertThat(employees.get(0).getId()).isEqualTo(admin.getId());
+    }
+
+    @Test
+    @DisplayName("JUnit test for find employees by specification operation")
+    void givenEmployeesList_whenFindByEmailDomainAndNamePrefix_thenReturnMatches() {
+        employeeRepository.save(employee);
+        employeeRepository.save(Employee.builder()
+                .firstName("admin")
+                .lastName("pblo")
+                .email("admin@company.com")
+                .build());
+        employeeRepository.save(Employee.builder()
+                .firstName("guest")
+                .lastName("guest")
+                .email("guest@gmail.com")
+                .build());
+
+        List<Employee> employees = employeeRepository.findBy(
+                EmployeeSpecifications.matching(new EmployeeFilter("gmail.com", "pb", null)),
+                query -> query.sortBy(Sort.by("id")).all());
+
+        assertThat(employees).extracting(Employee::getEmail).containsExactly(employee.getEmail());
+    }
+
+    @Test
+    @DisplayName("JUnit test for find employee fields operation")
+    void givenEmployeesList_whenFindEmployeeFields_thenReturnOnlySelectedFields() {
+        employeeRepository.save(employee);
+        Employee admin = Employee.builder()
+                .firstName("admin")
+                .lastName("admin")
+                .email("admin@gmail.com")
+                .build();
+        employeeRepository.save(admin);
+
+        List<Map<String, Object>> rows = employeeRepository.findEmployeeFields(
+                EmployeeSpecifications.matching(new EmployeeFilter(null, null, null)),
+                Sort.by(Sort.Direction.DESC, "email"),
+                10,
+                List.of("id", "email"));
+
+        assertThat(rows).containsExactly(
+                Map.of("id", employee.getId(), "email", employee.getEmail()),
+                Map.of("id", admin.getId(), "email", admin.getEmail()));
+    }
+
     @Test
     @DisplayName("JUnit test for find employee by id operation")
     void givenEmployeeObject_whenFindEmployeeById_thenReturnEmployeeObject() {
@@ -93,6 +173,46 @@ class EmployeeRepositoryTest {
         assertThat(employeeRepository.findById(employee.getId())).isNotPresent();
     }
 
+    @Test
+    @DisplayName("JUnit test for find employees by firstName and lastName operation with repeated names")
+    void givenRepeatedNames_whenFindEmployeesByFirstNameAndLastName_thenReturnAllMatches() {
+        employeeRepository.save(employee);
+        Employee homonym = Employee.builder()
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email("homonym@gmail.com")
+                .build();
+        employeeRepository.save(homonym);
+
+        List<Employee> employees = employeeRepository.findEmployeesByFirstNameAndLastName("pbl", "gllgs");
+
+        assertThat(employees).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("JUnit test for delete employee by id with a single statement operation")
+    void givenEmployeeObject_whenDeleteEmployeeById_thenEmployeeIsNotFound() {
+        employeeRepository.save(employee);
+        int deleted = employeeRepository.deleteEmployeeById(employee.getId());
+        assertThat(deleted).isEqualTo(1);
+        assertThat(employeeRepository.findById(employee.getId())).isNotPresent();
+    }
+
+    @Test
+    @DisplayName("JUnit test for delete employees by ids operation")
+    void givenEmployeesList_whenDeleteEmployeesByIds_thenEmployeesAreNotFound() {
+        employeeRepository.save(employee);
+        Employee admin = Employee.builder()
+                .firstName("admin")
+                .lastName("admin")
+                .email("admin@gmail.com")
+                .build();
+        employeeRepository.save(admin);
+        int deleted = employeeRepository.deleteEmployeesByIds(List.of(employee.getId(), admin.getId()));
+        assertThat(deleted).isEqualTo(2);
+        assertThat(employeeRepository.findAll()).isEmpty();
+    }
+
     @Test
     @DisplayName("JUnit test for find employee by firstName and lastName operation using index params")
     void givenFirstNameAndLastName_whenFindEmployeeByFirstNameAndLastNameIndexParams_thenReturnEmployeeObject() {
@@ -0,0 +1,174 @@
+package com.pblgllgs.testingsb3.service;
+
+import com.pblgllgs.testingsb3.model.EmployeeChange;
+import com.pblgllgs.testingsb3.repository.EmployeeOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeChangeRelayTest {
+
+    @Mock
+    private EmployeeOutboxRepository employeeOutboxRepository;
+
+    private EmployeeChangeRelay employeeChangeRelay;
+
+    @BeforeEach
+    void setup() {
+        employeeChangeRelay = new EmployeeChangeRelay(employeeOutboxRepository, 500, 60_000, Duration.ofDays(7), Runnable::run, 1000);
+    }
+
+    @Test
+    @DisplayName("JUnit test for relay new changes operation")
+    void givenSubscriber_whenRelay_thenSendNewChanges() throws IOException {
+        //given -  precondition or setup
+        SseEmitter emitter = mock(SseEmitter.class);
+        given(employeeOutboxRepository.findLastSequence()).willReturn(10L);
+        given(employeeOutboxRepository.findAfter(10L, 500)).willReturn(List.of(change(11), change(12)));
+        employeeChangeRelay.subscribe(emitter, null);
+        // when - action or the behaviour that we are going the
+        employeeChangeRelay.relay();
+        // then
+        verify(emitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    @DisplayName("JUnit test for relay with a sequence gap operation")
+    void givenUncommittedSequence_whenRelay_thenWaitForIt() throws IOException {
+        //given -  precondition or setup
+        SseEmitter emitter = mock(SseEmitter.class);
+        given(employeeOutboxRepository.findLastSequence()).willReturn(10L);
+        given(employeeOutboxRepository.findAfter(10L, 500)).willReturn(List.of(change(11), change(13)));
+        given(employeeOutboxRepository.findAfter(11L, 500)).willReturn(List.of(change(12), change(13)));
+        employeeChangeRelay.subscribe(emitter, null);
+        // when - action or the behaviour that we are going the
+        employeeChangeRelay.relay();
+        employeeChangeRelay.relay();
+        // then
+        ArgumentCaptor<SseEmitter.SseEventBuilder> events = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        verify(emitter, times(3)).send(events.capture());
+        assertThat(events.getAllValues())
+                .extracting(event -> event.build().iterator().next().getData().toString())
+                .containsExactly("id:11\nevent:UPDATED\ndata:", "id:12\nevent:UPDATED\ndata:", "id:13\nevent:UPDATED\ndata:");
+    }
+
+    @Test
+    @DisplayName("JUnit test for relay a skipped sequence committed late operation")
+    void givenSkippedSequenceCommittedLate_whenRelay_thenSendReset() throws IOException {
+        //given -  precondition or setup
+        EmployeeChangeRelay relay = new EmployeeChangeRelay(employeeOutboxRepository, 500, 0, Duration.ofDays(7), Runnable::run, 1000);
+        SseEmitter emitter = mock(SseEmitter.class);
+        given(employeeOutboxRepository.findLastSequence()).willReturn(10L);
+        given(employeeOutboxRepository.findAfter(10L, 500)).willReturn(List.of(change(11), change(13)));
+        given(employeeOutboxRepository.findAfter(13L, 500)).willReturn(List.of());
+        given(employeeOutboxRepository.findSequencesWithin(any())).willReturn(List.of()).willReturn(List.of(12L));
+        relay.subscribe(emitter, null);
+        // when - action or the behaviour that we are going the
+        relay.relay();
+        relay.relay();
+        // then
+        ArgumentCaptor<SseEmitter.SseEventBuilder> events = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        verify(emitter, times(3)).send(events.capture());
+        assertThat(events.getAllValues())
+                .extracting(event -> event.build().iterator().next().getData().toString())
+                .containsExactly("id:11\nevent:UPDATED\ndata:", "id:13\nevent:UPDATED\ndata:", "id:13\nevent:RESET\ndata:");
+    }
+
+    @Test
+    @DisplayName("JUnit test for resume from an older sequence operation")
+    void givenOldSequence_whenRelay_thenReplayFromOutbox() throws IOException {
+        //given -  precondition or setup
+        SseEmitter emitter = mock(SseEmitter.class);
+        given(employeeOutboxRepository.findLastSequence()).willReturn(10L);
+        given(employeeOutboxRepository.findAfter(10L, 500)).willReturn(List.of());
+        given(employeeOutboxRepository.findFirstSequence()).willReturn(1L);
+        given(employeeOutboxRepository.findAfter(8L, 500)).willReturn(List.of(change(9), change(10), change(11)));
+        employeeChangeRelay.subscribe(emitter, 8L);
+        // when - action or the behaviour that we are going the
+        employeeChangeRelay.relay();
+        // then
+        // 11 is not relayed yet, it will come with the next batch
+        verify(emitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    @DisplayName("JUnit test for relay to a disconnected subscriber operation")
+    void givenDisconnectedSubscriber_whenRelay_thenSubscriberIsRemoved() throws IOException {
+        //given -  precondition or setup
+        SseEmitter emitter = mock(SseEmitter.class);
+        given(employeeOutboxRepository.findLastSequence()).willReturn(10L);
+        given(employeeOutboxRepository.findAfter(eq(10L), eq(500))).willReturn(List.of(change(11)));
+        willThrow(new IOException("Broken pipe")).given(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        employeeChangeRelay.subscribe(emitter, null);
+        // when - action or the behaviour that we are going the
+        employeeChangeRelay.relay();
+        // then
+        assertThat(employeeChangeRelay.getSubscriberCount()).isZero();
+        verify(emitter).completeWithError(any(IOException.class));
+        verify(emitter, never()).complete();
+    }
+
+    @Test
+    @DisplayName("JUnit test for resume from an expired sequence operation")
+    void givenExpiredSequence_whenSubscribe_thenSendResetAndFollowNewChanges() throws IOException {
+        //given -  precondition or setup
+        SseEmitter emitter = mock(SseEmitter.class);
+        given(employeeOutboxRepository.findLastSequence()).willReturn(10L);
+        given(employeeOutboxRepository.findFirstSequence()).willReturn(6L);
+        given(employeeOutboxRepository.findAfter(10L, 500)).willReturn(List.of(change(11)));
+        // when - action or the behaviour that we are going the
+        employeeChangeRelay.subscribe(emitter, 3L);
+        employeeChangeRelay.relay();
+        // then
+        ArgumentCaptor<SseEmitter.SseEventBuilder> events = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        verify(emitter, times(2)).send(events.capture());
+        assertThat(events.getAllValues())
+                .extracting(event -> event.build().iterator().next().getData().toString())
+                .containsExactly("id:10\nevent:RESET\ndata:", "id:11\nevent:UPDATED\ndata:");
+        verify(employeeOutboxRepository, never()).findAfter(3L, 500);
+    }
+
+    @Test
+    @DisplayName("JUnit test for relay to a subscriber falling behind operation")
+    void givenSlowSubscriber_whenRelay_thenCloseIt() throws IOException {
+        //given -  precondition or setup
+        List<Runnable> pendingSends = new ArrayList<>();
+        EmployeeChangeRelay relay = new EmployeeChangeRelay(employeeOutboxRepository, 500, 60_000, Duration.ofDays(7), pendingSends::add, 1);
+        SseEmitter slowEmitter = mock(SseEmitter.class);
+        given(employeeOutboxRepository.findLastSequence()).willReturn(10L);
+        given(employeeOutboxRepository.findAfter(10L, 500)).willReturn(List.of(change(11), change(12)));
+        relay.subscribe(slowEmitter, null);
+        // when - action or the behaviour that we are going the
+        relay.relay();
+        // then
+        assertThat(relay.getSubscriberCount()).isZero();
+        verify(slowEmitter).complete();
+        verify(slowEmitter, never()).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    private static EmployeeChange change(long sequence) {
+        return new EmployeeChange(sequence, EmployeeChange.Type.UPDATED, 1L, "{\"id\":1}", LocalDateTime.now());
+    }
+}
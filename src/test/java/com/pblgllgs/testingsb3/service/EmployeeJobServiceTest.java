@@ -0,0 +1,195 @@
+package com.pblgllgs.testingsb3.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.model.EmployeeChange;
+import com.pblgllgs.testingsb3.model.EmployeeJob;
+import com.pblgllgs.testingsb3.repository.EmployeeJdbcRepository;
+import com.pblgllgs.testingsb3.repository.EmployeeOutboxRepository;
+import com.pblgllgs.testingsb3.repository.EmployeeRepository;
+import com.pblgllgs.testingsb3.service.impl.EmployeeJobServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeJobServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+    @Mock
+    private EmployeeJdbcRepository employeeJdbcRepository;
+    @Mock
+    private EmployeeOutboxRepository employeeOutboxRepository;
+    @Mock
+    private EmployeeSearchIndex employeeSearchIndex;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @TempDir
+    private Path directory;
+
+    private EmployeeJobService employeeJobService;
+
+    @BeforeEach
+    void setup() {
+        employeeJobService = new EmployeeJobServiceImpl(employeeRepository, employeeJdbcRepository, employeeOutboxRepository,
+                employeeSearchIndex, transactionTemplate, new ObjectMapper(), Runnable::run, directory, Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("JUnit test for import employees from csv operation in service layer")
+    @SuppressWarnings("unchecked")
+    void givenCsvFile_whenStartImport_thenInsertNewEmployeesAndSkipDuplicates() throws Exception {
+        //given -  precondition or setup
+        String csv = """
+                email,firstName,lastName
+                employee1@gmail.com,employee1,employee1
+                employee2@gmail.com,"employee, 2",employee2
+                employee1@gmail.com,again,again
+                existing@gmail.com,existing,existing
+                missing@gmail.com,,missing
+                """;
+        given(employeeJdbcRepository.getBatchSize()).willReturn(500);
+        given(employeeRepository.findExistingEmails(anyCollection())).willReturn(List.of("existing@gmail.com"));
+        willAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any(Consumer.class));
+        // when - action or the behaviour that we are going the
+        EmployeeJob job = employeeJobService.startImport(EmployeeJob.Format.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        // then
+        ArgumentCaptor<List<Employee>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(employeeJdbcRepository).insertAll(inserted.capture());
+        assertThat(inserted.getValue()).extracting(Employee::getFirstName).containsExactly("employee1", "employee, 2");
+        verify(employeeOutboxRepository).appendAll(EmployeeChange.Type.CREATED, inserted.getValue());
+        assertThat(job.getStatus()).isEqualTo(EmployeeJob.Status.COMPLETED);
+        assertThat(job.getProcessed()).isEqualTo(2);
+        assertThat(job.getSkipped()).isEqualTo(3);
+        assertThat(job.getErrors()).hasSize(3);
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit test for import employees inserted concurrently operation in service layer")
+    @SuppressWarnings("unchecked")
+    void givenEmailInsertedConcurrently_whenStartImport_thenSkipOnlyThatEmployee() throws Exception {
+        //given -  precondition or setup
+        String ndjson = """
+                {"firstName":"employee1","lastName":"employee1","email":"employee1@gmail.com"}
+                {"firstName":"concurrent","lastName":"concurrent","email":"concurrent@gmail.com"}
+                """;
+        given(employeeJdbcRepository.getBatchSize()).willReturn(500);
+        given(employeeRepository.findExistingEmails(anyCollection())).willReturn(List.of());
+        willAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any(Consumer.class));
+        given(employeeJdbcRepository.insertAll(anyList())).willAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            if (employees.stream().anyMatch(employee -> employee.getEmail().equals("concurrent@gmail.com"))) {
+                throw new DuplicateKeyException("Duplicate entry");
+            }
+            return employees;
+        });
+        // when - action or the behaviour that we are going the
+        EmployeeJob job = employeeJobService.startImport(EmployeeJob.Format.NDJSON,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+        // then
+        assertThat(job.getStatus()).isEqualTo(EmployeeJob.Status.COMPLETED);
+        assertThat(job.getProcessed()).isEqualTo(1);
+        assertThat(job.getSkipped()).isEqualTo(1);
+        assertThat(job.getErrors()).containsExactly("Employee already exists with email: concurrent@gmail.com");
+    }
+
+    @Test
+    @DisplayName("JUnit test for import employees from ndjson operation in service layer")
+    @SuppressWarnings("unchecked")
+    void givenInvalidNdjsonLine_whenStartImport_thenSkipThatLine() throws Exception {
+        //given -  precondition or setup
+        String ndjson = "{\"firstName\":\"employee\",\"lastName\":\"employee\",\"email\":\"employee@gmail.com\"}\n{not json\n";
+        given(employeeJdbcRepository.getBatchSize()).willReturn(500);
+        given(employeeRepository.findExistingEmails(anyCollection())).willReturn(List.of());
+        willAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any(Consumer.class));
+        // when - action or the behaviour that we are going the
+        EmployeeJob job = employeeJobService.startImport(EmployeeJob.Format.NDJSON,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+        // then
+        assertThat(job.getStatus()).isEqualTo(EmployeeJob.Status.COMPLETED);
+        assertThat(job.getProcessed()).isEqualTo(1);
+        assertThat(job.getSkipped()).isEqualTo(1);
+        assertThat(job.getErrors()).singleElement().asString().startsWith("Line 2: ");
+        assertThat(employeeJobService.findJob(job.getId())).contains(job);
+    }
+
+    @Test
+    @DisplayName("JUnit test for export employees to csv operation in service layer")
+    @SuppressWarnings("unchecked")
+    void givenEmployees_whenStartExport_thenWriteCsvFile() throws Exception {
+        //given -  precondition or setup
+        given(employeeRepository.count()).willReturn(2L);
+        willAnswer(invocation -> {
+            Consumer<Employee> action = invocation.getArgument(0);
+            action.accept(Employee.builder().id(1L).firstName("employee1").lastName("employee1").email("employee1@gmail.com").version(0L).build());
+            action.accept(Employee.builder().id(2L).firstName("employee, 2").lastName("employee2").email("employee2@gmail.com").version(3L).build());
+            return null;
+        }).given(employeeJdbcRepository).forEachEmployee(any(Consumer.class));
+        // when - action or the behaviour that we are going the
+        EmployeeJob job = employeeJobService.startExport(EmployeeJob.Format.CSV);
+        // then
+        assertThat(job.getStatus()).isEqualTo(EmployeeJob.Status.COMPLETED);
+        assertThat(job.getTotal()).isEqualTo(2L);
+        assertThat(job.getProcessed()).isEqualTo(2);
+        assertThat(Files.readAllLines(job.getFile())).containsExactly(
+                "id,firstName,lastName,email,version",
+                "1,employee1,employee1,employee1@gmail.com,0",
+                "2,\"employee, 2\",employee2,employee2@gmail.com,3");
+    }
+
+    @Test
+    @DisplayName("JUnit test for start job with a full queue operation in service layer")
+    void givenFullQueue_whenStartExport_thenThrowsException() {
+        //given -  precondition or setup
+        EmployeeJobService rejectingService = new EmployeeJobServiceImpl(employeeRepository, employeeJdbcRepository, employeeOutboxRepository,
+                employeeSearchIndex, transactionTemplate, new ObjectMapper(),
+                command -> {
+                    throw new RejectedExecutionException("queue full");
+                },
+                directory, Duration.ofHours(1));
+        // when - action or the behaviour that we are going the
+        assertThrows(RejectedExecutionException.class, () -> rejectingService.startExport(EmployeeJob.Format.NDJSON));
+        // then
+        verifyNoInteractions(employeeJdbcRepository);
+    }
+}
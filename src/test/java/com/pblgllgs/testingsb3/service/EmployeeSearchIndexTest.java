@@ -0,0 +1,174 @@
+package com.pblgllgs.testingsb3.service;
+
+import com.pblgllgs.testingsb3.exception.SearchIndexLoadingException;
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.repository.EmployeeJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSearchIndexTest {
+
+    @Mock
+    private EmployeeJdbcRepository employeeJdbcRepository;
+    @InjectMocks
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    private Employee john;
+    private Employee johanna;
+    private Employee peter;
+
+    @BeforeEach
+    void setup() {
+        john = Employee.builder().id(1L).firstName("John").lastName("Smith").email("john.smith@gmail.com").build();
+        johanna = Employee.builder().id(2L).firstName("Johanna").lastName("Doe").email("jdoe@company.com").build();
+        peter = Employee.builder().id(3L).firstName("Peter").lastName("Johnson").email("peter@gmail.com").build();
+        employeeSearchIndex.load();
+        employeeSearchIndex.indexAll(List.of(john, johanna, peter));
+    }
+
+    @Test
+    @DisplayName("JUnit test for search before the index is loaded operation")
+    void givenIndexNotLoaded_whenSearch_thenThrowsSearchIndexLoadingException() {
+        //given -  precondition or setup
+        EmployeeSearchIndex index = new EmployeeSearchIndex(employeeJdbcRepository);
+        index.indexAll(List.of(john));
+        // when - action or the behaviour that we are going the
+        // then
+        assertThrows(SearchIndexLoadingException.class, () -> index.search("john", 10));
+    }
+
+    @Test
+    @DisplayName("JUnit test for load search index operation")
+    @SuppressWarnings("unchecked")
+    void givenEmployeesInDatabase_whenLoad_thenEveryEmployeeIsIndexed() {
+        //given -  precondition or setup
+        EmployeeSearchIndex index = new EmployeeSearchIndex(employeeJdbcRepository);
+        willAnswer(invocation -> {
+            Consumer<Employee> action = invocation.getArgument(0);
+            action.accept(john);
+            action.accept(peter);
+            return null;
+        }).given(employeeJdbcRepository).forEachEmployee(any(Consumer.class));
+        // when - action or the behaviour that we are going the
+        index.load();
+        // then
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("JUnit test for load search index while employees change operation")
+    @SuppressWarnings("unchecked")
+    void givenChangesDuringLoad_whenLoad_thenStaleRowsAreSkipped() {
+        //given -  precondition or setup
+        EmployeeSearchIndex index = new EmployeeSearchIndex(employeeJdbcRepository);
+        Employee loadedJohn = Employee.builder().id(1L).firstName("John").lastName("Smith").email("john.smith@gmail.com").version(0L).build();
+        willAnswer(invocation -> {
+            Consumer<Employee> action = invocation.getArgument(0);
+            // committed after the rows below were read
+            index.index(Employee.builder().id(1L).firstName("Jack").lastName("Smith").email("jack@gmail.com").version(1L).build());
+            index.remove(3L);
+            action.accept(loadedJohn);
+            action.accept(peter);
+            return null;
+        }).given(employeeJdbcRepository).forEachEmployee(any(Consumer.class));
+        // when - action or the behaviour that we are going the
+        index.load();
+        // then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("jack", 10)).extracting(Employee::getId).containsExactly(1L);
+        assertThat(index.search("john", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("JUnit test for search by prefix operation")
+    void givenPrefix_whenSearch_thenExactMatchesRankFirst() {
+        // when - action or the behaviour that we are going the
+        List<Employee> employees = employeeSearchIndex.search("john", 10);
+        // then
+        assertThat(employees).extracting(Employee::getId).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("JUnit test for search with several words operation")
+    void givenSeveralWords_whenSearch_thenEveryWordMustMatch() {
+        // when - action or the behaviour that we are going the
+        List<Employee> employees = employeeSearchIndex.search("jo smi", 10);
+        // then
+        assertThat(employees).extracting(Employee::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("JUnit test for search by email operation")
+    void givenEmailWords_whenSearch_thenOnlyLocalPartMatches() {
+        // when - action or the behaviour that we are going the
+        List<Employee> employees = employeeSearchIndex.search("jdoe", 10);
+        // then
+        assertThat(employees).extracting(Employee::getId).containsExactly(2L);
+        assertThat(employeeSearchIndex.search("gmail", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("JUnit test for search with a limit operation")
+    void givenLimit_whenSearch_thenReturnBestMatchesOnly() {
+        // when - action or the behaviour that we are going the
+        List<Employee> employees = employeeSearchIndex.search("jo", 2);
+        // then
+        assertThat(employees).extracting(Employee::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("JUnit test for search with a typo operation")
+    void givenTypo_whenSearch_thenReturnSimilarEmployees() {
+        // when - action or the behaviour that we are going the
+        List<Employee> employees = employeeSearchIndex.search("johnsen", 10);
+        // then
+        assertThat(employees).extracting(Employee::getId).containsExactly(3L, 1L);
+        assertThat(employeeSearchIndex.search("smitj", 10)).extracting(Employee::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("JUnit test for update and remove operations")
+    void givenUpdatedAndRemovedEmployees_whenSearch_thenIndexIsCurrent() {
+        //given -  precondition or setup
+        employeeSearchIndex.index(Employee.builder().id(1L).firstName("Jack").lastName("Smith").email("jack@gmail.com").build());
+        employeeSearchIndex.remove(2L);
+        // when - action or the behaviour that we are going the
+        List<Employee> employees = employeeSearchIndex.search("jo", 10);
+        // then
+        assertThat(employees).extracting(Employee::getId).containsExactly(3L);
+        assertThat(employeeSearchIndex.search("jack", 10)).extracting(Employee::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("JUnit test for changes made inside a transaction")
+    void givenActiveTransaction_whenIndex_thenAppliedAfterCommit() {
+        //given -  precondition or setup
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when - action or the behaviour that we are going the
+            employeeSearchIndex.index(Employee.builder().id(4L).firstName("Zoe").lastName("Zimmer").email("zoe@gmail.com").build());
+            // then
+            assertThat(employeeSearchIndex.search("zimmer", 10)).isEmpty();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(employeeSearchIndex.search("zimmer", 10)).extracting(Employee::getId).containsExactly(4L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.pblgllgs.testingsb3.service;
+
+import com.pblgllgs.testingsb3.config.CacheConfig;
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.repository.EmployeeJdbcRepository;
+import com.pblgllgs.testingsb3.repository.EmployeeOutboxRepository;
+import com.pblgllgs.testingsb3.repository.EmployeeRepository;
+import com.pblgllgs.testingsb3.service.impl.EmployeeServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringJUnitConfig
+class EmployeeServiceCacheTest {
+
+    @Configuration
+    @Import({CacheConfig.class, EmployeeServiceImpl.class})
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(CacheConfig.EMPLOYEES_CACHE);
+        }
+    }
+
+    @MockBean
+    private EmployeeRepository employeeRepository;
+    @MockBean
+    private EmployeeJdbcRepository employeeJdbcRepository;
+    @MockBean
+    private EntityManager entityManager;
+    @MockBean
+    private EmployeeSearchIndex employeeSearchIndex;
+    @MockBean
+    private EmployeeOutboxRepository employeeOutboxRepository;
+    @MockBean
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setup() {
+        cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).clear();
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("employee")
+                .lastName("employee")
+                .email("employee@gmail.com")
+                .build();
+    }
+
+    @Test
+    @DisplayName("JUnit test for find employee by id operation served from cache")
+    void givenCachedEmployee_whenFindById_thenRepositoryIsQueriedOnce() {
+        //given -  precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        // when - action or the behaviour that we are going the
+        employeeService.findById(1L);
+        Optional<Employee> employeeDB = employeeService.findById(1L);
+        // then
+        assertThat(employeeDB).contains(employee);
+        verify(employeeRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee by id operation putting the cache")
+    void givenCachedEmployee_whenUpdateEmployeeById_thenCacheHoldsUpdatedEmployee() {
+        //given -  precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        employeeService.findById(1L);
+        Employee changes = Employee.builder()
+                .firstName("updated")
+                .lastName("employee")
+                .email("employee@gmail.com")
+                .build();
+        given(employeeJdbcRepository.updateFields(1L, changes, null)).willReturn(1);
+        // when - action or the behaviour that we are going the
+        employeeService.updateEmployee(1L, changes, null);
+        // then
+        assertThat(employeeService.findById(1L)).hasValueSatisfying(employeeDB ->
+                assertThat(employeeDB.getFirstName()).isEqualTo("updated"));
+        verify(employeeRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("JUnit test for delete employee operation evicting the cache")
+    void givenCachedEmployee_whenDeleteEmployee_thenCacheIsEvicted() {
+        //given -  precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        employeeService.findById(1L);
+        given(employeeRepository.deleteEmployeeById(1L)).willReturn(1);
+        // when - action or the behaviour that we are going the
+        employeeService.deleteEmployee(1L, null);
+        employeeService.findById(1L);
+        // then
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+}
@@ -1,26 +1,57 @@
 package com.pblgllgs.testingsb3.service;
 
 
+import com.pblgllgs.testingsb3.config.CacheConfig;
 import com.pblgllgs.testingsb3.exception.EmployeeAlreadyExistsException;
+import com.pblgllgs.testingsb3.exception.InvalidEmployeeQueryException;
 import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.model.EmployeeChange;
+import com.pblgllgs.testingsb3.model.EmployeeFilter;
+import com.pblgllgs.testingsb3.model.EmployeeLookup;
+import com.pblgllgs.testingsb3.repository.EmployeeJdbcRepository;
+import com.pblgllgs.testingsb3.repository.EmployeeOutboxRepository;
 import com.pblgllgs.testingsb3.repository.EmployeeRepository;
 import com.pblgllgs.testingsb3.service.impl.EmployeeServiceImpl;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.*;
@@ -30,6 +61,18 @@ import static org.mockito.Mockito.*;
 class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
+    @Mock
+    private EmployeeJdbcRepository employeeJdbcRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private EmployeeSearchIndex employeeSearchIndex;
+    @Mock
+    private EmployeeOutboxRepository employeeOutboxRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.EMPLOYEES_CACHE);
     @InjectMocks
     private EmployeeServiceImpl employeeService;
     private Employee employee;
@@ -49,11 +92,6 @@ class EmployeeServiceTest {
     void givenEmployeeObject_whenSaveEmployee_thenReturnSavedEmployee() {
         //given
         log.info(employee.toString());
-        given(
-                employeeRepository.findEmployeeByEmail(
-                        employee.getEmail()
-                )
-        ).willReturn(Optional.empty());
         given(employeeRepository.save(employee)).willReturn(employee);
         //when
         Employee savedEmployee = employeeService.saveEmployee(employee);
@@ -61,24 +99,118 @@ class EmployeeServiceTest {
         //when
         log.info(savedEmployee.toString());
         assertThat(savedEmployee).isNotNull().isEqualTo(employee);
+        verify(employeeOutboxRepository).append(EmployeeChange.Type.CREATED, employee);
+        verify(employeeSearchIndex).index(employee);
     }
 
     @Test
     @DisplayName("JUnit test for save employee operation in service layer")
     void givenExistingEmail_whenSaveEmployee_thenThrowsException() {
         //given
-        given(
-                employeeRepository.findEmployeeByEmail(
-                        employee.getEmail()
-                )
-        ).willReturn(Optional.of(employee));
+        given(employeeRepository.save(employee)).willThrow(new DataIntegrityViolationException(
+                "Duplicate entry",
+                new ConstraintViolationException("Duplicate entry", null, "employees." + Employee.EMAIL_UNIQUE_INDEX)
+        ));
 
         //when
         assertThrows(EmployeeAlreadyExistsException.class, () -> employeeService.saveEmployee(employee));
 
         //when
 
-        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(employeeRepository, never()).findEmployeeByEmail(any());
+    }
+
+    @Test
+    @DisplayName("JUnit test for save employee operation violating another constraint in service layer")
+    void givenOtherConstraintViolation_whenSaveEmployee_thenRethrowsException() {
+        //given
+        employee.setFirstName(null);
+        given(employeeRepository.save(employee)).willThrow(new DataIntegrityViolationException(
+                "Column 'first_name' cannot be null",
+                new ConstraintViolationException("Column 'first_name' cannot be null", null, null)
+        ));
+
+        //when
+        assertThrows(DataIntegrityViolationException.class, () -> employeeService.saveEmployee(employee));
+    }
+
+    @Test
+    @DisplayName("JUnit test for save all employees operation in service layer")
+    void givenEmployeeList_whenSaveAll_thenReturnSavedEmployees() {
+        //given -  precondition or setup
+        Employee employee2 = Employee.builder()
+                .firstName("employee2")
+                .lastName("employee2")
+                .email("employee2@gmail.com")
+                .build();
+        List<Employee> employees = List.of(employee, employee2);
+        given(employeeJdbcRepository.getBatchSize()).willReturn(500);
+        given(employeeRepository.findExistingEmails(any())).willReturn(Collections.emptyList());
+        given(employeeJdbcRepository.insertAll(employees)).willReturn(employees);
+        // when - action or the behaviour that we are going the
+        List<Employee> savedEmployees = employeeService.saveAll(employees);
+        // then
+        assertThat(savedEmployees).hasSize(2);
+        verify(employeeRepository, times(1)).findExistingEmails(any());
+        verify(employeeRepository, never()).findEmployeeByEmail(any());
+    }
+
+    @Test
+    @DisplayName("JUnit test for save all employees with an existing email operation in service layer")
+    void givenExistingEmail_whenSaveAll_thenThrowsException() {
+        //given -  precondition or setup
+        List<Employee> employees = List.of(employee);
+        given(employeeJdbcRepository.getBatchSize()).willReturn(500);
+        given(employeeRepository.findExistingEmails(any())).willReturn(List.of(employee.getEmail()));
+        // when - action or the behaviour that we are going the
+        assertThrows(EmployeeAlreadyExistsException.class, () -> employeeService.saveAll(employees));
+        // then
+        verify(employeeJdbcRepository, never()).insertAll(any());
+    }
+
+    @Test
+    @DisplayName("JUnit test for save all employees with an email inserted concurrently operation in service layer")
+    void givenEmailInsertedConcurrently_whenSaveAll_thenThrowsExceptionWithThatEmail() {
+        //given -  precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("employee1")
+                .lastName("employee1")
+                .email("employee1@gmail.com")
+                .build();
+        Employee employee2 = Employee.builder()
+                .firstName("employee2")
+                .lastName("employee2")
+                .email("employee2@gmail.com")
+                .build();
+        List<Employee> employees = List.of(employee1, employee2);
+        given(employeeJdbcRepository.getBatchSize()).willReturn(500);
+        given(employeeRepository.findExistingEmails(any())).willReturn(Collections.emptyList());
+        given(employeeJdbcRepository.insertAll(employees)).willThrow(new DuplicateKeyException("Duplicate entry"));
+        given(employeeJdbcRepository.findTakenEmails(any())).willReturn(List.of("employee2@gmail.com"));
+        // when - action or the behaviour that we are going the
+        EmployeeAlreadyExistsException ex = assertThrows(EmployeeAlreadyExistsException.class,
+                () -> employeeService.saveAll(employees));
+        // then
+        assertThat(ex.getMessage()).contains("employee2@gmail.com").doesNotContain("employee1@gmail.com");
+        verify(employeeJdbcRepository).findTakenEmails(List.of("employee1@gmail.com", "employee2@gmail.com"));
+    }
+
+    @Test
+    @DisplayName("JUnit test for save all employees with a repeated email operation in service layer")
+    void givenRepeatedEmailInRequest_whenSaveAll_thenThrowsException() {
+        //given -  precondition or setup
+        Employee copy = Employee.builder()
+                .firstName("copy")
+                .lastName("copy")
+                .email(employee.getEmail())
+                .build();
+        List<Employee> employees = List.of(employee, copy);
+        given(employeeJdbcRepository.getBatchSize()).willReturn(500);
+        given(employeeRepository.findExistingEmails(any())).willReturn(Collections.emptyList());
+        // when - action or the behaviour that we are going the
+        assertThrows(EmployeeAlreadyExistsException.class, () -> employeeService.saveAll(employees));
+        // then
+        verify(employeeJdbcRepository, never()).insertAll(any());
     }
 
     @Test
@@ -111,11 +243,82 @@ class EmployeeServiceTest {
         assertThat(employeesList).isEmpty();
     }
 
+    @Test
+    @DisplayName("JUnit test for find employees after a cursor operation in service layer")
+    void givenCursorAndLimit_whenGetEmployeesAfter_thenReturnEmployeesPage() {
+        //given -  precondition or setup
+        given(employeeRepository.findEmployeesAfter(0L, PageRequest.ofSize(10))).willReturn(List.of(employee));
+        // when - action or the behaviour that we are going the
+        List<Employee> employeesList = employeeService.getEmployeesAfter(0L, 10);
+        // then
+        assertThat(employeesList).containsExactly(employee);
+    }
+
+    @Test
+    @DisplayName("JUnit test for find employees after a cursor with a non id sort operation in service layer")
+    void givenCursorAndNonIdSort_whenFindEmployees_thenThrowsException() {
+        //given -  precondition or setup
+        EmployeeFilter filter = new EmployeeFilter(null, "emp", 10L);
+        // when - action or the behaviour that we are going the
+        assertThrows(InvalidEmployeeQueryException.class,
+                () -> employeeService.findEmployees(filter, Sort.by("lastName"), 10));
+        // then
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    @DisplayName("JUnit test for find employee fields operation in service layer")
+    void givenFieldsAndSort_whenFindEmployeeFields_thenSortIsMadeStableById() {
+        //given -  precondition or setup
+        List<String> fields = List.of("id", "email");
+        Sort expectedSort = Sort.by(Sort.Direction.DESC, "email").and(Sort.by("id"));
+        given(employeeRepository.findEmployeeFields(ArgumentMatchers.<Specification<Employee>>any(), eq(expectedSort), eq(10), eq(fields)))
+                .willReturn(List.of(Map.of("id", 1L, "email", "employee@gmail.com")));
+        // when - action or the behaviour that we are going the
+        List<Map<String, Object>> rows = employeeService.findEmployeeFields(
+                new EmployeeFilter("gmail.com", null, null), Sort.by(Sort.Direction.DESC, "email"), 10, fields);
+        // then
+        assertThat(rows).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("JUnit test for find employee fields operation with an unknown field in service layer")
+    void givenUnknownField_whenFindEmployeeFields_thenThrowsException() {
+        //given -  precondition or setup
+        EmployeeFilter filter = new EmployeeFilter(null, null, null);
+        List<String> fields = List.of("id", "salary");
+        // when - action or the behaviour that we are going the
+        assertThrows(InvalidEmployeeQueryException.class,
+                () -> employeeService.findEmployeeFields(filter, Sort.unsorted(), 10, fields));
+        // then
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    @DisplayName("JUnit test for stream all employees operation in service layer")
+    void givenEmployeeStream_whenStreamAllEmployees_thenEveryEmployeeIsConsumedAndDetached() {
+        //given -  precondition or setup
+        Employee employee2 = Employee.builder()
+                .id(2L)
+                .firstName("employee2")
+                .lastName("employee2")
+                .email("employee2@gmail.com")
+                .build();
+        given(employeeRepository.streamAllEmployees()).willReturn(Stream.of(employee, employee2));
+        List<Employee> consumed = new ArrayList<>();
+        // when - action or the behaviour that we are going the
+        employeeService.streamAllEmployees(consumed::add);
+        // then
+        assertThat(consumed).containsExactly(employee, employee2);
+        verify(entityManager).detach(employee);
+        verify(entityManager).detach(employee2);
+    }
+
     @Test
     @DisplayName("JUnit test for find employee by id operation in service layer")
     void givenEmployeeObject_whenFindById_thenReturnEmployeeObject() {
         //given -  precondition or setup
-
+        givenTransactions();
         given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
         // when - action or the behaviour that we are going the
         Optional<Employee> employeeDB = employeeService.findById(employee.getId());
@@ -124,16 +327,198 @@ class EmployeeServiceTest {
     }
 
     @Test
-    @DisplayName("JUnit test for update employee operation in service layer")
-    void givenEmployeeObject_whenUpdateEmployee_thenReturnEmployeeObject(){
+    @DisplayName("JUnit test for find employees by ids operation in service layer")
+    void givenEmployeeIds_whenFindAllById_thenReturnEmployeesInRequestOrder() {
         //given -  precondition or setup
-        given(employeeRepository.save(employee)).willReturn(employee);
-        employee.setEmail("test@gmail.com");
+        Employee employee2 = Employee.builder().id(2L).firstName("employee2").lastName("employee2").email("employee2@gmail.com").build();
+        Employee employee3 = Employee.builder().id(3L).firstName("employee3").lastName("employee3").email("employee3@gmail.com").build();
+        given(employeeJdbcRepository.getBatchSize()).willReturn(2);
+        given(employeeRepository.findAllById(List.of(3L, 9L))).willReturn(List.of(employee3));
+        given(employeeRepository.findAllById(List.of(1L, 2L))).willReturn(List.of(employee2, employee));
+        // when - action or the behaviour that we are going the
+        EmployeeLookup lookup = employeeService.findAllById(List.of(3L, 9L, 3L, 1L, 2L));
+        // then
+        assertThat(lookup.employees()).containsExactly(employee3, employee, employee2);
+        assertThat(lookup.missingIds()).containsExactly(9L);
+        verify(employeeRepository, times(2)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("JUnit test for find missing employee by id operation in service layer")
+    void givenMissingEmployeeId_whenFindById_thenReturnEmpty() {
+        //given -  precondition or setup
+        givenTransactions();
+        given(employeeRepository.findById(42L)).willReturn(Optional.empty());
+        // when - action or the behaviour that we are going the
+        Optional<Employee> employeeDB = employeeService.findById(42L);
+        // then
+        assertThat(employeeDB).isEmpty();
+    }
+
+    @Test
+    @DisplayName("JUnit test for concurrent find employee by id operation in service layer")
+    void givenConcurrentLookups_whenFindById_thenQueryOnce() throws Exception {
+        //given -  precondition or setup
+        givenTransactions();
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        given(employeeRepository.findById(employee.getId())).willAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await();
+            return Optional.of(employee);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // when - action or the behaviour that we are going the
+            Future<Optional<Employee>> first = executor.submit(() -> employeeService.findById(employee.getId()));
+            queryStarted.await();
+            Future<Optional<Employee>> second = executor.submit(() -> employeeService.findById(employee.getId()));
+            Thread.sleep(100);
+            releaseQuery.countDown();
+            // then
+            assertThat(first.get(5, TimeUnit.SECONDS)).contains(employee);
+            assertThat(second.get(5, TimeUnit.SECONDS)).contains(employee);
+            verify(employeeRepository, times(1)).findById(employee.getId());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit test for find employees by name operation in service layer")
+    void givenFirstNameAndLastName_whenFindByName_thenReturnEmployeesList() {
+        //given -  precondition or setup
+        Employee homonym = Employee.builder()
+                .id(2L)
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email("homonym@gmail.com")
+                .build();
+        given(employeeRepository.findEmployeesByFirstNameAndLastName(employee.getFirstName(), employee.getLastName()))
+                .willReturn(List.of(employee, homonym));
+        // when - action or the behaviour that we are going the
+        List<Employee> employeesList = employeeService.findByName(employee.getFirstName(), employee.getLastName());
+        // then
+        assertThat(employeesList).containsExactly(employee, homonym);
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee by id with every field operation in service layer")
+    void givenAllFields_whenUpdateEmployeeById_thenReturnEmployeeWithoutReading() {
+        //given -  precondition or setup
+        givenTransactions();
+        Employee changes = Employee.builder()
+                .firstName("changed")
+                .lastName("changed")
+                .email("changed@gmail.com")
+                .build();
+        given(employeeJdbcRepository.updateFields(1L, changes, null)).willReturn(1);
+        given(employeeJdbcRepository.findVersion(1L)).willReturn(5L);
+        // when - action or the behaviour that we are going the
+        Optional<Employee> employeeDB = employeeService.updateEmployee(1L, changes, null);
+        // then
+        assertThat(employeeDB).isPresent();
+        assertThat(employeeDB.get().getId()).isEqualTo(1L);
+        assertThat(employeeDB.get().getEmail()).isEqualTo("changed@gmail.com");
+        assertThat(employeeDB.get().getVersion()).isEqualTo(5L);
+        assertThat(cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).get(1L, Employee.class)).isEqualTo(employeeDB.get());
+        verify(employeeRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee by id with some fields operation in service layer")
+    void givenSomeFields_whenUpdateEmployeeById_thenReturnEmployeeReadBack() {
+        //given -  precondition or setup
+        givenTransactions();
+        Employee changes = Employee.builder()
+                .firstName("changed")
+                .build();
+        given(employeeJdbcRepository.updateFields(1L, changes, null)).willReturn(1);
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        // when - action or the behaviour that we are going the
+        Optional<Employee> employeeDB = employeeService.updateEmployee(1L, changes, null);
+        // then
+        assertThat(employeeDB).contains(employee);
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee by id not found operation in service layer")
+    void givenMissingId_whenUpdateEmployeeById_thenReturnEmpty() {
+        //given -  precondition or setup
+        givenTransactions();
+        given(employeeJdbcRepository.updateFields(1L, employee, null)).willReturn(0);
+        // when - action or the behaviour that we are going the
+        Optional<Employee> employeeDB = employeeService.updateEmployee(1L, employee, null);
+        // then
+        assertThat(employeeDB).isEmpty();
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee by id with the expected version operation in service layer")
+    void givenExpectedVersion_whenUpdateEmployeeById_thenReturnEmployeeWithNextVersion() {
+        //given -  precondition or setup
+        givenTransactions();
+        given(employeeJdbcRepository.updateFields(1L, employee, 3L)).willReturn(1);
+        // when - action or the behaviour that we are going the
+        Optional<Employee> employeeDB = employeeService.updateEmployee(1L, employee, 3L);
+        // then
+        assertThat(employeeDB).isPresent();
+        assertThat(employeeDB.get().getVersion()).isEqualTo(4L);
+        verify(employeeJdbcRepository, never()).findVersion(any());
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee by id with a stale version operation in service layer")
+    void givenStaleVersion_whenUpdateEmployeeById_thenThrowsException() {
+        //given -  precondition or setup
+        givenTransactions();
+        given(employeeJdbcRepository.updateFields(1L, employee, 3L)).willReturn(0);
+        given(employeeRepository.existsById(1L)).willReturn(true);
+        cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).put(1L, employee);
         // when - action or the behaviour that we are going the
-        Employee employeeDB = employeeService.updateEmployee(employee);
+        assertThrows(OptimisticLockingFailureException.class, () -> employeeService.updateEmployee(1L, employee, 3L));
         // then
-        assertThat(employeeDB).isNotNull();
-        assertThat(employeeDB.getEmail()).isEqualTo("test@gmail.com");
+        assertThat(cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee by id with an existing email operation in service layer")
+    void givenExistingEmail_whenUpdateEmployeeById_thenThrowsException() {
+        //given -  precondition or setup
+        givenTransactions();
+        given(employeeJdbcRepository.updateFields(1L, employee, null)).willThrow(new DuplicateKeyException("Duplicate entry"));
+        // when - action or the behaviour that we are going the
+        assertThrows(EmployeeAlreadyExistsException.class, () -> employeeService.updateEmployee(1L, employee, null));
+    }
+
+    @Test
+    @DisplayName("JUnit test for concurrent update employee by id operation in service layer")
+    void givenConcurrentUpdates_whenUpdateEmployeeById_thenSerializeBeforeTransaction() throws Exception {
+        //given -  precondition or setup
+        givenTransactions();
+        CountDownLatch updateStarted = new CountDownLatch(1);
+        CountDownLatch releaseUpdate = new CountDownLatch(1);
+        given(employeeJdbcRepository.updateFields(1L, employee, null)).willAnswer(invocation -> {
+            updateStarted.countDown();
+            releaseUpdate.await();
+            return 1;
+        }).willReturn(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // when - action or the behaviour that we are going the
+            Future<Optional<Employee>> first = executor.submit(() -> employeeService.updateEmployee(1L, employee, null));
+            updateStarted.await();
+            Future<Optional<Employee>> second = executor.submit(() -> employeeService.updateEmployee(1L, employee, null));
+            Thread.sleep(100);
+            // then
+            verify(transactionTemplate, times(1)).execute(any());
+            releaseUpdate.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isPresent();
+            assertThat(second.get(5, TimeUnit.SECONDS)).isPresent();
+            verify(transactionTemplate, times(2)).execute(any());
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     @Test
@@ -141,10 +526,64 @@ class EmployeeServiceTest {
     void givenEmployeeObject_whenDeleteEmployee_thenReturnEmployeeObject(){
         //given -  precondition or setup
         long employeeId = 1L;
-        willDoNothing().given(employeeRepository).deleteById(employeeId);
+        given(employeeRepository.deleteEmployeeById(employeeId)).willReturn(1);
         // when - action or the behaviour that we are going the
-        employeeService.deleteEmployee(employeeId);
+        boolean deleted = employeeService.deleteEmployee(employeeId, null);
         // then
-        verify(employeeRepository,times(1)).deleteById(employeeId);
+        assertThat(deleted).isTrue();
+        verify(employeeRepository,times(1)).deleteEmployeeById(employeeId);
+        verify(employeeRepository, never()).deleteById(any());
+        verify(employeeSearchIndex).remove(employeeId);
+    }
+
+    @Test
+    @DisplayName("JUnit test for delete employee not found operation in service layer")
+    void givenMissingId_whenDeleteEmployee_thenReturnFalse(){
+        //given -  precondition or setup
+        long employeeId = 1L;
+        given(employeeRepository.deleteEmployeeById(employeeId)).willReturn(0);
+        // when - action or the behaviour that we are going the
+        boolean deleted = employeeService.deleteEmployee(employeeId, null);
+        // then
+        assertThat(deleted).isFalse();
+    }
+
+    @Test
+    @DisplayName("JUnit test for delete employee with a stale version operation in service layer")
+    void givenStaleVersion_whenDeleteEmployee_thenThrowsException(){
+        //given -  precondition or setup
+        long employeeId = 1L;
+        given(employeeRepository.deleteEmployeeByIdAndVersion(employeeId, 2L)).willReturn(0);
+        given(employeeRepository.existsById(employeeId)).willReturn(true);
+        // when - action or the behaviour that we are going the
+        assertThrows(OptimisticLockingFailureException.class, () -> employeeService.deleteEmployee(employeeId, 2L));
+    }
+
+    @Test
+    @DisplayName("JUnit test for delete employees by ids operation in service layer")
+    void givenEmployeeIds_whenDeleteEmployees_thenDeleteInChunks(){
+        //given -  precondition or setup
+        given(employeeJdbcRepository.getBatchSize()).willReturn(2);
+        given(employeeRepository.findExistingIds(List.of(1L, 2L))).willReturn(List.of(1L, 2L));
+        given(employeeRepository.findExistingIds(List.of(3L, 4L))).willReturn(List.of(3L));
+        given(employeeRepository.deleteEmployeesByIds(List.of(1L, 2L))).willReturn(2);
+        given(employeeRepository.deleteEmployeesByIds(List.of(3L))).willReturn(1);
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        cache.put(1L, employee);
+        cache.put(5L, employee);
+        // when - action or the behaviour that we are going the
+        int deleted = employeeService.deleteEmployees(List.of(1L, 2L, 2L, 3L, 4L));
+        // then
+        assertThat(deleted).isEqualTo(3);
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(5L)).isNotNull();
+        verify(employeeRepository, times(2)).deleteEmployeesByIds(any());
+        verify(employeeOutboxRepository).appendDeleted(List.of(1L, 2L));
+        verify(employeeOutboxRepository).appendDeleted(List.of(3L));
+    }
+
+    private void givenTransactions() {
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
-}
\ No newline at end of file
+}
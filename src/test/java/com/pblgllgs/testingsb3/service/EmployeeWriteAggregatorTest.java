@@ -0,0 +1,258 @@
+package com.pblgllgs.testingsb3.service;
+
+import com.pblgllgs.testingsb3.exception.EmployeeAlreadyExistsException;
+import com.pblgllgs.testingsb3.model.Employee;
+import com.pblgllgs.testingsb3.model.EmployeeChange;
+import com.pblgllgs.testingsb3.repository.EmployeeJdbcRepository;
+import com.pblgllgs.testingsb3.repository.EmployeeOutboxRepository;
+import com.pblgllgs.testingsb3.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeWriteAggregatorTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+    @Mock
+    private EmployeeJdbcRepository employeeJdbcRepository;
+    @Mock
+    private EmployeeOutboxRepository employeeOutboxRepository;
+    @Mock
+    private EmployeeSearchIndex employeeSearchIndex;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private EmployeeWriteAggregator employeeWriteAggregator;
+
+    @BeforeEach
+    void setup() {
+        employeeWriteAggregator = new EmployeeWriteAggregator(employeeRepository, employeeJdbcRepository, employeeOutboxRepository,
+                employeeSearchIndex, transactionTemplate, Duration.ofSeconds(5), 2, 100, Duration.ofSeconds(5), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeWriteAggregator.shutdown();
+    }
+
+    @Test
+    @DisplayName("JUnit test for flush batch of employee creations operation in service layer")
+    void givenBatchWithDuplicatedEmails_whenFlush_thenInsertOnceAndFailDuplicates() {
+        //given -  precondition or setup
+        givenTransactions();
+        EmployeeWriteAggregator.PendingWrite first = pendingWrite("employee1@gmail.com");
+        EmployeeWriteAggregator.PendingWrite again = pendingWrite("employee1@gmail.com");
+        EmployeeWriteAggregator.PendingWrite existing = pendingWrite("existing@gmail.com");
+        EmployeeWriteAggregator.PendingWrite second = pendingWrite("employee2@gmail.com");
+        given(employeeRepository.findExistingEmails(anyCollection())).willReturn(List.of("existing@gmail.com"));
+        // when - action or the behaviour that we are going the
+        employeeWriteAggregator.flush(List.of(first, again, existing, second));
+        // then
+        verify(employeeRepository).findExistingEmails(anyCollection());
+        verify(employeeJdbcRepository).insertAll(List.of(first.employee(), second.employee()));
+        verify(employeeOutboxRepository).appendAll(EmployeeChange.Type.CREATED, List.of(first.employee(), second.employee()));
+        assertThat(first.result().join()).isSameAs(first.employee());
+        assertThat(second.result().join()).isSameAs(second.employee());
+        assertAlreadyExists(again.result());
+        assertAlreadyExists(existing.result());
+    }
+
+    @Test
+    @DisplayName("JUnit test for flush rejected batch of employee creations operation in service layer")
+    void givenBatchRejected_whenFlush_thenInsertEachEmployeeAlone() {
+        //given -  precondition or setup
+        givenTransactions();
+        EmployeeWriteAggregator.PendingWrite first = pendingWrite("employee1@gmail.com");
+        EmployeeWriteAggregator.PendingWrite concurrent = pendingWrite("concurrent@gmail.com");
+        given(employeeRepository.findExistingEmails(anyCollection())).willReturn(List.of());
+        given(employeeJdbcRepository.insertAll(anyList())).willAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            if (employees.contains(concurrent.employee())) {
+                throw new DuplicateKeyException("Duplicate entry");
+            }
+            return employees;
+        });
+        // when - action or the behaviour that we are going the
+        employeeWriteAggregator.flush(List.of(first, concurrent));
+        // then
+        verify(employeeJdbcRepository).insertAll(List.of(first.employee()));
+        assertThat(first.result().join()).isSameAs(first.employee());
+        assertAlreadyExists(concurrent.result());
+    }
+
+    @Test
+    @DisplayName("JUnit test for flush batch failing without a rejected row operation in service layer")
+    void givenDatabaseDown_whenFlush_thenFailBatchWithoutInsertingEachEmployee() {
+        //given -  precondition or setup
+        givenTransactions();
+        EmployeeWriteAggregator.PendingWrite first = pendingWrite("employee1@gmail.com");
+        EmployeeWriteAggregator.PendingWrite second = pendingWrite("employee2@gmail.com");
+        given(employeeRepository.findExistingEmails(anyCollection())).willReturn(List.of());
+        given(employeeJdbcRepository.insertAll(anyList())).willThrow(new DataAccessResourceFailureException("down"));
+        // when - action or the behaviour that we are going the
+        employeeWriteAggregator.flush(List.of(first, second));
+        // then
+        verify(employeeJdbcRepository, times(1)).insertAll(anyList());
+        assertThat(assertThrows(ExecutionException.class, first.result()::get).getCause())
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(assertThrows(ExecutionException.class, second.result()::get).getCause())
+                .isInstanceOf(DataAccessResourceFailureException.class);
+    }
+
+    @Test
+    @DisplayName("JUnit test for save employee slower than the timeout operation in service layer")
+    void givenBatchSlowerThanTimeout_whenSaveEmployee_thenWaitForItsOutcome() throws Throwable {
+        //given -  precondition or setup
+        givenTransactions();
+        given(employeeRepository.findExistingEmails(anyCollection())).willReturn(List.of());
+        given(employeeJdbcRepository.insertAll(anyList())).willAnswer(invocation -> {
+            Thread.sleep(400);
+            return invocation.getArgument(0);
+        });
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        EmployeeWriteAggregator aggregator = new EmployeeWriteAggregator(employeeRepository, employeeJdbcRepository,
+                employeeOutboxRepository, employeeSearchIndex, transactionTemplate, Duration.ofMillis(1), 2, 100,
+                Duration.ofMillis(100), new SimpleMeterRegistry());
+        aggregator.start();
+        try {
+            Employee employee = employee("employee1@gmail.com");
+            // when - action or the behaviour that we are going the
+            Object savedEmployee = aggregator.saveEmployee(joinPoint, employee);
+            // then
+            assertThat(savedEmployee).isSameAs(employee);
+            verifyNoInteractions(joinPoint);
+        } finally {
+            aggregator.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit test for concurrent save employee operation in service layer")
+    void givenConcurrentSaves_whenSaveEmployee_thenInsertThemInOneBatch() throws Throwable {
+        //given -  precondition or setup
+        givenTransactions();
+        AtomicLong ids = new AtomicLong();
+        given(employeeRepository.findExistingEmails(anyCollection())).willReturn(List.of());
+        given(employeeJdbcRepository.insertAll(anyList())).willAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            employees.forEach(employee -> employee.setId(ids.incrementAndGet()));
+            return employees;
+        });
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        employeeWriteAggregator.start();
+        // when - action or the behaviour that we are going the
+        CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> save(joinPoint, employee("employee1@gmail.com")));
+        CompletableFuture<Object> second = CompletableFuture.supplyAsync(() -> save(joinPoint, employee("employee2@gmail.com")));
+        // then
+        assertThat(((Employee) first.get(5, TimeUnit.SECONDS)).getId()).isNotNull();
+        assertThat(((Employee) second.get(5, TimeUnit.SECONDS)).getId()).isNotNull();
+        verify(employeeJdbcRepository, times(1)).insertAll(anyList());
+        verifyNoInteractions(joinPoint);
+    }
+
+    @Test
+    @DisplayName("JUnit test for save employee after a batch failed with an error operation in service layer")
+    void givenBatchFailedWithError_whenSaveEmployee_thenFlusherKeepsRunning() throws Throwable {
+        //given -  precondition or setup
+        givenTransactions();
+        given(employeeRepository.findExistingEmails(anyCollection())).willReturn(List.of());
+        given(employeeJdbcRepository.insertAll(anyList()))
+                .willThrow(new NoClassDefFoundError("broken"))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        EmployeeWriteAggregator aggregator = new EmployeeWriteAggregator(employeeRepository, employeeJdbcRepository,
+                employeeOutboxRepository, employeeSearchIndex, transactionTemplate, Duration.ofMillis(1), 2, 100,
+                Duration.ofSeconds(5), new SimpleMeterRegistry());
+        aggregator.start();
+        try {
+            // when - action or the behaviour that we are going the
+            assertThrows(NoClassDefFoundError.class, () -> aggregator.saveEmployee(joinPoint, employee("employee1@gmail.com")));
+            Employee employee = employee("employee2@gmail.com");
+            Object savedEmployee = aggregator.saveEmployee(joinPoint, employee);
+            // then
+            assertThat(savedEmployee).isSameAs(employee);
+            verifyNoInteractions(joinPoint);
+        } finally {
+            aggregator.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee through save employee operation in service layer")
+    void givenEmployeeWithId_whenSaveEmployee_thenProceedWithoutBatching() throws Throwable {
+        //given -  precondition or setup
+        Employee employee = employee("employee1@gmail.com");
+        employee.setId(1L);
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        given(joinPoint.proceed()).willReturn(employee);
+        // when - action or the behaviour that we are going the
+        Object savedEmployee = employeeWriteAggregator.saveEmployee(joinPoint, employee);
+        // then
+        assertThat(savedEmployee).isSameAs(employee);
+        verifyNoInteractions(employeeRepository, employeeJdbcRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenTransactions() {
+        willAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any(Consumer.class));
+    }
+
+    private Object save(ProceedingJoinPoint joinPoint, Employee employee) {
+        try {
+            return employeeWriteAggregator.saveEmployee(joinPoint, employee);
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void assertAlreadyExists(CompletableFuture<Employee> result) {
+        ExecutionException ex = assertThrows(ExecutionException.class, result::get);
+        assertThat(ex.getCause()).isInstanceOf(EmployeeAlreadyExistsException.class);
+    }
+
+    private static EmployeeWriteAggregator.PendingWrite pendingWrite(String email) {
+        return new EmployeeWriteAggregator.PendingWrite(employee(email), new CompletableFuture<>());
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder()
+                .firstName("employee")
+                .lastName("employee")
+                .email(email)
+                .build();
+    }
+}
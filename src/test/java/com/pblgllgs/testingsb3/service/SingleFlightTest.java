@@ -0,0 +1,73 @@
+package com.pblgllgs.testingsb3.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    @DisplayName("JUnit test for execute of a failing call")
+    void givenFailingLoader_whenExecute_thenShareExceptionAndForgetCall() throws Exception {
+        //given -  precondition or setup
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // when - action or the behaviour that we are going the
+            Future<String> first = executor.submit(() -> singleFlight.execute(1L, () -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                await(releaseLoader);
+                throw new IllegalStateException("database down");
+            }));
+            loaderStarted.await();
+            Future<String> second = executor.submit(() -> singleFlight.execute(1L, () -> {
+                loads.incrementAndGet();
+                return "second";
+            }));
+            Thread.sleep(100);
+            releaseLoader.countDown();
+            // then
+            Exception firstFailure = assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+            Exception secondFailure = assertThrows(Exception.class, () -> second.get(5, TimeUnit.SECONDS));
+            assertThat(firstFailure).hasCauseInstanceOf(IllegalStateException.class);
+            assertThat(secondFailure).hasCauseInstanceOf(IllegalStateException.class);
+            assertThat(loads).hasValue(1);
+            assertThat(singleFlight.inFlight()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit test for execute after a completed call")
+    void givenCompletedCall_whenExecute_thenLoadAgain() {
+        //given -  precondition or setup
+        singleFlight.execute(1L, () -> "first");
+        // when - action or the behaviour that we are going the
+        String value = singleFlight.execute(1L, () -> "second");
+        // then
+        assertThat(value).isEqualTo("second");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
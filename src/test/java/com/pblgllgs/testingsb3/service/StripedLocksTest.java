@@ -0,0 +1,60 @@
+package com.pblgllgs.testingsb3.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedLocksTest {
+
+    private final StripedLocks stripedLocks = new StripedLocks(16);
+
+    @Test
+    @DisplayName("JUnit test for get of the same key")
+    void givenSameKey_whenGet_thenReturnSameLock() {
+        // when - action or the behaviour that we are going the
+        Lock first = stripedLocks.get(1L);
+        Lock second = stripedLocks.get(Long.valueOf(1L));
+        // then
+        assertThat(first).isSameAs(second);
+    }
+
+    @Test
+    @DisplayName("JUnit test for get of many keys")
+    void givenManyKeys_whenGet_thenSpreadOverStripes() {
+        //given -  precondition or setup
+        Set<Lock> locks = new HashSet<>();
+        // when - action or the behaviour that we are going the
+        for (long key = 0; key < 1000; key++) {
+            locks.add(stripedLocks.get(key));
+        }
+        // then
+        assertThat(locks).hasSize(16);
+    }
+
+    @Test
+    @DisplayName("JUnit test for get of a key locked by another thread")
+    void givenLockedKey_whenGetFromAnotherThread_thenCannotLock() throws Exception {
+        //given -  precondition or setup
+        Lock lock = stripedLocks.get(1L);
+        lock.lock();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // when - action or the behaviour that we are going the
+            Future<Boolean> locked = executor.submit(() -> stripedLocks.get(1L).tryLock());
+            // then
+            assertThat(locked.get(5, TimeUnit.SECONDS)).isFalse();
+        } finally {
+            lock.unlock();
+            executor.shutdownNow();
+        }
+    }
+}